@@ -0,0 +1,59 @@
+package de.gazibaric.marvin.minesweeper.bench;
+
+// This file is part of Minesweeper, created on 18.10.2026 by (c) Marvin Gazibarić.
+// You are generally not allowed to modify, distribute or use this code,
+// when you do not have the explicit permission to do so.
+// For questions about this, refer to the LICENSE.md file probably provided with the project files.
+
+import de.gazibaric.marvin.minesweeper.Board;
+import de.gazibaric.marvin.minesweeper.BoardId;
+import de.gazibaric.marvin.minesweeper.MinefieldDefault;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading the adjacent mine count of every cell, as render does each frame.
+ * {@link #countTable()} reads the precomputed table, {@link #neighbourWalk()} counts through the neighbours
+ * the way {@code Field.getAdajacentMineCount} used to.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AdjacentCountBenchmark {
+
+    @Param({"Easy", "Medium", "Hard", "Very Hard", "Extreme", "Insane", "200x200", "1000x1000"})
+    public String board;
+
+    private Board target;
+    private final int[] adjacent = new int[8];
+
+    @Setup
+    public void setup() {
+        MinefieldDefault.Preset preset = BenchBoards.preset(board);
+        target = new BoardId(preset.width, preset.height, preset.mineCount,
+                preset.height / 2 * preset.width + preset.width / 2, BenchBoards.SEED).generate();
+    }
+
+    @Benchmark
+    public int countTable() {
+        int sum = 0;
+        for (int i = 0; i < target.getSize(); i++)
+            sum += target.getAdjacentMineCount(i);
+        return sum;
+    }
+
+    @Benchmark
+    public int neighbourWalk() {
+        int sum = 0;
+        for (int i = 0; i < target.getSize(); i++) {
+            final int n = target.neighbours(i, adjacent);
+            for (int k = 0; k < n; k++)
+                if (target.isMine(adjacent[k])) sum++;
+        }
+        return sum;
+    }
+}
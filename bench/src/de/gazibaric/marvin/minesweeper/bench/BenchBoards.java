@@ -0,0 +1,52 @@
+package de.gazibaric.marvin.minesweeper.bench;
+
+// This file is part of Minesweeper, created on 18.10.2026 by (c) Marvin Gazibarić.
+// You are generally not allowed to modify, distribute or use this code,
+// when you do not have the explicit permission to do so.
+// For questions about this, refer to the LICENSE.md file probably provided with the project files.
+
+import de.gazibaric.marvin.minesweeper.MinefieldDefault;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The boards all benchmarks run on: every preset of {@link MinefieldDefault} plus a few much larger boards.
+ * The {@code @Param} defaults of the benchmarks repeat these names, {@link BenchmarkRunner} passes the actual presets.
+ */
+final class BenchBoards {
+
+    private static final String[] LARGE = {"200x200", "1000x1000"};
+
+    static final long SEED = 4422;
+
+    private static final float LARGE_DENSITY = 0.2f;
+
+    private BenchBoards() {}
+
+    /**
+     * @return the names of all presets followed by the large boards
+     */
+    static String[] names() {
+        List<String> names = new ArrayList<>();
+        for (MinefieldDefault.Preset preset : MinefieldDefault.getPresets())
+            names.add(preset.name);
+        for (String large : LARGE)
+            names.add(large);
+        return names.toArray(new String[0]);
+    }
+
+    /**
+     * Resolves a preset by its name, or a large board given as {@code WIDTHxHEIGHT} with 20% mines.
+     */
+    static MinefieldDefault.Preset preset(String name) {
+        for (MinefieldDefault.Preset preset : MinefieldDefault.getPresets())
+            if (preset.name.equals(name))
+                return preset;
+        String[] size = name.split("x");
+        if (size.length != 2)
+            throw new IllegalArgumentException("Unknown board: " + name);
+        final int width = Integer.parseInt(size[0]), height = Integer.parseInt(size[1]);
+        return new MinefieldDefault.Preset(name, width, height, (int) (width * height * LARGE_DENSITY), SEED);
+    }
+}
@@ -0,0 +1,26 @@
+package de.gazibaric.marvin.minesweeper.bench;
+
+// This file is part of Minesweeper, created on 18.10.2026 by (c) Marvin Gazibarić.
+// You are generally not allowed to modify, distribute or use this code,
+// when you do not have the explicit permission to do so.
+// For questions about this, refer to the LICENSE.md file probably provided with the project files.
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs all benchmarks on every preset and the large boards, reporting throughput and allocation rate.
+ * An optional argument restricts the run to the benchmarks matching the given regex, e.g. {@code Reveal}.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String... args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(args.length > 0 ? args[0] : BenchmarkRunner.class.getPackage().getName() + ".*Benchmark")
+                .param("board", BenchBoards.names())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,45 @@
+package de.gazibaric.marvin.minesweeper.bench;
+
+// This file is part of Minesweeper, created on 18.10.2026 by (c) Marvin Gazibarić.
+// You are generally not allowed to modify, distribute or use this code,
+// when you do not have the explicit permission to do so.
+// For questions about this, refer to the LICENSE.md file probably provided with the project files.
+
+import de.gazibaric.marvin.minesweeper.Board;
+import de.gazibaric.marvin.minesweeper.MinePlacer;
+import de.gazibaric.marvin.minesweeper.MinefieldDefault;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mine placement, what used to be {@code MinefieldDefault.spreadMines}, on a fresh board with the first click in the center.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GenerationBenchmark {
+
+    @Param({"Easy", "Medium", "Hard", "Very Hard", "Extreme", "Insane", "200x200", "1000x1000"})
+    public String board;
+
+    private MinefieldDefault.Preset preset;
+    private Random rng;
+
+    @Setup
+    public void setup() {
+        preset = BenchBoards.preset(board);
+        rng = new Random(BenchBoards.SEED);
+    }
+
+    @Benchmark
+    public Board spreadMines() {
+        Board b = new Board(preset.width, preset.height);
+        MinePlacer.place(b, b.index(preset.width / 2, preset.height / 2), preset.mineCount, rng);
+        return b;
+    }
+}
@@ -0,0 +1,59 @@
+package de.gazibaric.marvin.minesweeper.bench;
+
+// This file is part of Minesweeper, created on 18.10.2026 by (c) Marvin Gazibarić.
+// You are generally not allowed to modify, distribute or use this code,
+// when you do not have the explicit permission to do so.
+// For questions about this, refer to the LICENSE.md file probably provided with the project files.
+
+import de.gazibaric.marvin.minesweeper.BoardGeometry;
+import de.gazibaric.marvin.minesweeper.HexTopology;
+import de.gazibaric.marvin.minesweeper.MinefieldDefault;
+import de.gazibaric.marvin.minesweeper.SquareTopology;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping a mouse position to a cell, what used to be the rectangle loop in {@code MinefieldDefault.update}.
+ * Square and hexagonal boards are measured alike.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HitTestBenchmark {
+
+    @Param({"Easy", "Medium", "Hard", "Very Hard", "Extreme", "Insane", "200x200", "1000x1000"})
+    public String board;
+
+    @Param({"square", "hex"})
+    public String topology;
+
+    private static final int POINTS = 1024;
+
+    private BoardGeometry geometry;
+    private final int[] xs = new int[POINTS], ys = new int[POINTS];
+    private int next = 0;
+
+    @Setup
+    public void setup() {
+        MinefieldDefault.Preset preset = BenchBoards.preset(board);
+        geometry = BoardGeometry.of(topology.equals("hex") ? new HexTopology(preset.width, preset.height)
+                : new SquareTopology(preset.width, preset.height));
+        geometry.layout(RenderBenchmark.WIDTH, RenderBenchmark.HEIGHT);
+        Random rng = new Random(BenchBoards.SEED);
+        for (int i = 0; i < POINTS; i++) {
+            xs[i] = rng.nextInt(RenderBenchmark.WIDTH);
+            ys[i] = rng.nextInt(RenderBenchmark.HEIGHT);
+        }
+    }
+
+    @Benchmark
+    public int cellAt() {
+        next = (next + 1) & (POINTS - 1);
+        return geometry.cellAt(xs[next], ys[next]);
+    }
+}
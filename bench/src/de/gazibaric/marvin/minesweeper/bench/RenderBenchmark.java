@@ -0,0 +1,68 @@
+package de.gazibaric.marvin.minesweeper.bench;
+
+// This file is part of Minesweeper, created on 18.10.2026 by (c) Marvin Gazibarić.
+// You are generally not allowed to modify, distribute or use this code,
+// when you do not have the explicit permission to do so.
+// For questions about this, refer to the LICENSE.md file probably provided with the project files.
+
+import de.gazibaric.marvin.minesweeper.GameResources;
+import de.gazibaric.marvin.minesweeper.MinefieldDefault;
+import de.gazibaric.marvin.minesweeper.PreferencesManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A full frame of {@link MinefieldDefault#render} into an offscreen image, after a first click in the center.
+ * The retained layer is invalidated before every frame, so every cell on screen is drawn again.
+ * {@link RenderDirtyBenchmark} measures the frames that only redraw the changed cells.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RenderBenchmark {
+
+    static final int WIDTH = 1920, HEIGHT = 1080;
+
+    @Param({"Easy", "Medium", "Hard", "Very Hard", "Extreme", "Insane", "200x200", "1000x1000"})
+    public String board;
+
+    private MinefieldDefault minefield;
+    private BufferedImage image;
+    private Graphics2D gx;
+    private final Point mouse = new Point(WIDTH / 2, HEIGHT / 2);
+
+    @Setup
+    public void setup() throws IOException {
+        PreferencesManager.getPreferencesManager().load();
+        GameResources.getResources().load();
+        image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        gx = image.createGraphics();
+        gx.setRenderingHints(PreferencesManager.getPreferencesManager().getRenderingHints());
+
+        minefield = new MinefieldDefault(BenchBoards.preset(board));
+        minefield.render(gx, WIDTH, HEIGHT, mouse);
+        minefield.mouseReleased(new MouseEvent(new Canvas(), MouseEvent.MOUSE_RELEASED, 0, 0,
+                mouse.x, mouse.y, 1, false, MouseEvent.BUTTON1));
+        minefield.update(WIDTH, HEIGHT);
+    }
+
+    @TearDown
+    public void tearDown() {
+        gx.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage render() {
+        minefield.invalidate();
+        minefield.render(gx, WIDTH, HEIGHT, mouse);
+        return image;
+    }
+}
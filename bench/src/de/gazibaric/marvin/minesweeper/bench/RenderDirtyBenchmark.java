@@ -0,0 +1,97 @@
+package de.gazibaric.marvin.minesweeper.bench;
+
+// This file is part of Minesweeper, created on 18.10.2026 by (c) Marvin Gazibarić.
+// You are generally not allowed to modify, distribute or use this code,
+// when you do not have the explicit permission to do so.
+// For questions about this, refer to the LICENSE.md file probably provided with the project files.
+
+import de.gazibaric.marvin.minesweeper.Board;
+import de.gazibaric.marvin.minesweeper.Game;
+import de.gazibaric.marvin.minesweeper.GameResources;
+import de.gazibaric.marvin.minesweeper.MinefieldDefault;
+import de.gazibaric.marvin.minesweeper.PreferencesManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * A frame of {@link MinefieldDefault#render} after the board changed, the retained layer only gets the changed cells.
+ * Before every frame the hidden safe cell closest to the center is revealed, opening up its surroundings if it has
+ * no mines nearby. One safe cell is always kept hidden so that the game is never won, once only that one is left
+ * the mine closest to the center is flagged and unflagged instead.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RenderDirtyBenchmark {
+
+    @Param({"Easy", "Medium", "Hard", "Very Hard", "Extreme", "Insane", "200x200", "1000x1000"})
+    public String board;
+
+    private MinefieldDefault minefield;
+    private Game game;
+    private Integer[] byDistance; // all cells, closest to the center first
+    private int next = 0, mine = -1; // the next cell to reveal, the mine to flag once none is left
+    private BufferedImage image;
+    private Graphics2D gx;
+    private final Point mouse = new Point(RenderBenchmark.WIDTH / 2, RenderBenchmark.HEIGHT / 2);
+
+    @Setup
+    public void setup() throws IOException {
+        PreferencesManager.getPreferencesManager().load();
+        GameResources.getResources().load();
+        image = new BufferedImage(RenderBenchmark.WIDTH, RenderBenchmark.HEIGHT, BufferedImage.TYPE_INT_RGB);
+        gx = image.createGraphics();
+        gx.setRenderingHints(PreferencesManager.getPreferencesManager().getRenderingHints());
+
+        MinefieldDefault.Preset preset = BenchBoards.preset(board);
+        minefield = new MinefieldDefault(preset);
+        game = minefield.getGame();
+        final Board cells = game.getBoard();
+        game.reveal(preset.width / 2, preset.height / 2);
+        minefield.update(RenderBenchmark.WIDTH, RenderBenchmark.HEIGHT);
+        minefield.render(gx, RenderBenchmark.WIDTH, RenderBenchmark.HEIGHT, mouse);
+
+        final int cx = preset.width / 2, cy = preset.height / 2;
+        byDistance = IntStream.range(0, cells.getSize()).boxed().toArray(Integer[]::new);
+        Arrays.sort(byDistance, Comparator.comparingInt(i -> Math.abs(cells.x(i) - cx) + Math.abs(cells.y(i) - cy)));
+    }
+
+    @Setup(Level.Invocation)
+    public void change() {
+        final Board cells = game.getBoard();
+        while (next < byDistance.length && (cells.isRevealed(byDistance[next]) || cells.isMine(byDistance[next])))
+            next++;
+        if (next < byDistance.length && cells.getUnrevealedSafeCount() > 1)
+            game.reveal(cells.x(byDistance[next]), cells.y(byDistance[next]));
+        else {
+            if (mine < 0) {
+                mine = 0;
+                while (!cells.isMine(byDistance[mine]))
+                    mine++;
+            }
+            game.toggleFlag(cells.x(byDistance[mine]), cells.y(byDistance[mine]));
+        }
+        minefield.update(RenderBenchmark.WIDTH, RenderBenchmark.HEIGHT);
+    }
+
+    @TearDown
+    public void tearDown() {
+        gx.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage render() {
+        minefield.render(gx, RenderBenchmark.WIDTH, RenderBenchmark.HEIGHT, mouse);
+        return image;
+    }
+}
@@ -0,0 +1,54 @@
+package de.gazibaric.marvin.minesweeper.bench;
+
+// This file is part of Minesweeper, created on 18.10.2026 by (c) Marvin Gazibarić.
+// You are generally not allowed to modify, distribute or use this code,
+// when you do not have the explicit permission to do so.
+// For questions about this, refer to the LICENSE.md file probably provided with the project files.
+
+import de.gazibaric.marvin.minesweeper.Board;
+import de.gazibaric.marvin.minesweeper.BoardId;
+import de.gazibaric.marvin.minesweeper.MinefieldDefault;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Flood fill from the first click, what used to be {@code Field.reveal}.
+ * An open board has 1% mines and opens up almost completely, a dense board uses the mine count of the preset.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RevealBenchmark {
+
+    @Param({"Easy", "Medium", "Hard", "Very Hard", "Extreme", "Insane", "200x200", "1000x1000"})
+    public String board;
+
+    @Param({"open", "dense"})
+    public String layout;
+
+    private BoardId id;
+    private Board target;
+    private int firstClick;
+
+    @Setup
+    public void setup() {
+        MinefieldDefault.Preset preset = BenchBoards.preset(board);
+        firstClick = preset.height / 2 * preset.width + preset.width / 2;
+        final int mineCount = layout.equals("open") ? preset.width * preset.height / 100 : preset.mineCount;
+        id = new BoardId(preset.width, preset.height, mineCount, firstClick, BenchBoards.SEED);
+    }
+
+    @Setup(Level.Invocation)
+    public void generate() {
+        target = id.generate();
+    }
+
+    @Benchmark
+    public int reveal() {
+        return target.reveal(firstClick);
+    }
+}
@@ -0,0 +1,53 @@
+package de.gazibaric.marvin.minesweeper.bench;
+
+// This file is part of Minesweeper, created on 18.10.2026 by (c) Marvin Gazibarić.
+// You are generally not allowed to modify, distribute or use this code,
+// when you do not have the explicit permission to do so.
+// For questions about this, refer to the LICENSE.md file probably provided with the project files.
+
+import de.gazibaric.marvin.minesweeper.Board;
+import de.gazibaric.marvin.minesweeper.Game;
+import de.gazibaric.marvin.minesweeper.MinefieldDefault;
+import de.gazibaric.marvin.minesweeper.Solver;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Solving a position in the middle of a game with the mine count of the preset. The position is reached by revealing
+ * the center and then every cell the solver finds safe, until it runs out of safe cells and a guess would be needed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SolverBenchmark {
+
+    @Param({"Easy", "Medium", "Hard", "Very Hard", "Extreme", "Insane"})
+    public String board;
+
+    private Solver solver;
+
+    @Setup
+    public void setup() {
+        MinefieldDefault.Preset preset = BenchBoards.preset(board);
+        final Game game = new Game(preset.width, preset.height, preset.mineCount, BenchBoards.SEED);
+        final Board target = game.getBoard();
+        solver = new Solver(game);
+        game.reveal(preset.width / 2, preset.height / 2);
+        while (!game.isOver()) {
+            solver.solve();
+            if (solver.getSafeCells().length == 0) break;
+            for (int i : solver.getSafeCells())
+                game.reveal(target.x(i), target.y(i));
+        }
+    }
+
+    @Benchmark
+    public Solver solve() {
+        solver.solve();
+        return solver;
+    }
+}
@@ -0,0 +1,389 @@
+package de.gazibaric.marvin.minesweeper;
+
+// This file is part of Minesweeper, created on 18.10.2026 by (c) Marvin Gazibarić.
+// You are generally not allowed to modify, distribute or use this code,
+// when you do not have the explicit permission to do so.
+// For questions about this, refer to the LICENSE.md file probably provided with the project files.
+
+import java.util.Arrays;
+
+/**
+ * Primitive board engine. Every cell is packed into a single byte:
+ * the lower five bits hold the adjacent mine count, the upper three bits are the mine, revealed and flag bits.
+ * The counts are maintained whenever a mine is placed or removed, readers never have to count themselves.
+ * Cells are addressed row-major by index, neighbours are derived from the index by the {@link Topology}
+ * instead of being stored, so the same engine runs every kind of board with the same memory per cell.
+ * Every change of what the player sees is recorded in the {@link ChangeFeed} of the board, each operation in one batch.
+ */
+public class Board {
+
+    static final int COUNT_MASK = 0x1F;
+    static final int MINE = 0x20;
+    static final int REVEALED = 0x40;
+    static final int FLAGGED = 0x80;
+
+    private final Topology topology;
+    private final int width, height;
+    private final byte[] cells;
+    private final int[] adjacent;
+    private final int[] chorded; // neighbours of the chorded cell, adjacent is taken by the flood fills
+    private int[] stack = new int[64]; // work stack of the flood fill, grows on demand and is kept for later reveals
+
+    private final ChangeFeed changes = new ChangeFeed(); // cells whose visible state changed
+    private ChangeFeed.Cursor snapshotted; // the changes already listed in a snapshot, opened by the first snapshot()
+    private long snapshotCount = 0;
+    private byte[][] published; // the pages of the last snapshot, pages without a change are shared with the next one
+    private boolean recopy = true; // whether cells changed without a record, e.g. mines were placed
+
+    private int[] mines = new int[16]; // positions of all mines, in the order they were placed
+    private int mineCount = 0;
+    private int flagCount = 0;
+    private int revealedSafeCount = 0;
+
+    public Board(int width, int height) {
+        this(new SquareTopology(width, height));
+    }
+
+    public Board(Topology topology) {
+        this.topology = topology;
+        this.width = topology.getWidth();
+        this.height = topology.getHeight();
+        this.cells = new byte[topology.getSize()];
+        this.adjacent = new int[topology.getMaxNeighbours()];
+        this.chorded = new int[topology.getMaxNeighbours()];
+    }
+
+    public Topology getTopology() {
+        return topology;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * @return the number of rows of one layer. The rows of all layers follow each other, so on a board with more than
+     * one layer {@link #index(int, int)} and {@link #y(int)} cover {@code getHeight() * getDepth()} rows.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * @return the number of layers, 1 for all flat boards
+     */
+    public int getDepth() {
+        return topology.getDepth();
+    }
+
+    public int getSize() {
+        return cells.length;
+    }
+
+    /**
+     * @param y the row counted through all layers, from 0 up to {@code getHeight() * getDepth()}
+     */
+    public int index(int x, int y) {
+        return y * width + x;
+    }
+
+    public int x(int index) {
+        return index % width;
+    }
+
+    /**
+     * @return the row counted through all layers, {@code y % getHeight()} is the row within the layer
+     */
+    public int y(int index) {
+        return index / width;
+    }
+
+    public boolean isMine(int index) {
+        return (cells[index] & MINE) != 0;
+    }
+
+    public boolean isRevealed(int index) {
+        return (cells[index] & REVEALED) != 0;
+    }
+
+    public boolean isFlagged(int index) {
+        return (cells[index] & FLAGGED) != 0;
+    }
+
+    public int getAdjacentMineCount(int index) {
+        return cells[index] & COUNT_MASK;
+    }
+
+    public int getMineCount() {
+        return mineCount;
+    }
+
+    public int getFlagCount() {
+        return flagCount;
+    }
+
+    /**
+     * @return the number of mines minus the number of flags, may become negative when flagging too much
+     */
+    public int getMinesRemaining() {
+        return mineCount - flagCount;
+    }
+
+    /**
+     * @return the number of cells without a mine that are still to be revealed, the game is won once this hits 0
+     */
+    public int getUnrevealedSafeCount() {
+        return cells.length - mineCount - revealedSafeCount;
+    }
+
+    /**
+     * Places or removes a mine. The adjacent mine counts of the surrounding cells are kept up to date,
+     * so the count table is always correct without ever having to be rebuilt.
+     */
+    public void setMine(int index, boolean mine) {
+        if (isMine(index) == mine) return;
+        recopy = true;
+        cells[index] ^= MINE;
+        if (mine) {
+            if (mineCount == mines.length)
+                mines = Arrays.copyOf(mines, mines.length * 2);
+            mines[mineCount++] = index;
+        }
+        else {
+            for (int m = 0; m < mineCount; m++) {
+                if (mines[m] == index) {
+                    mines[m] = mines[--mineCount];
+                    break;
+                }
+            }
+        }
+        if (isRevealed(index)) revealedSafeCount += mine ? -1 : 1;
+        final int delta = mine ? 1 : -1;
+        final int n = neighbours(index, adjacent);
+        for (int k = 0; k < n; k++)
+            cells[adjacent[k]] += delta;
+    }
+
+    /**
+     * Places a mine on every cell whose bit is set in {@code bits}, one bit per cell index, and then rebuilds
+     * the whole count table in one pass. A lot faster than placing many mines one by one.
+     */
+    public void setMines(long[] bits) {
+        int count = 0;
+        for (long word : bits)
+            count += Long.bitCount(word);
+        if (mineCount + count > mines.length)
+            mines = Arrays.copyOf(mines, mineCount + count);
+        recopy = true;
+        for (int w = 0; w < bits.length; w++) {
+            for (long word = bits[w]; word != 0; word &= word - 1) {
+                final int i = w * 64 + Long.numberOfTrailingZeros(word);
+                if (isMine(i)) continue;
+                cells[i] |= MINE;
+                mines[mineCount++] = i;
+                if (isRevealed(i)) revealedSafeCount--;
+            }
+        }
+        recount();
+    }
+
+    /**
+     * Rebuilds the count table from the recorded mine positions, every mine adds one to each of its neighbours.
+     */
+    private void recount() {
+        for (int i = 0; i < cells.length; i++)
+            cells[i] &= ~COUNT_MASK;
+        for (int m = 0; m < mineCount; m++) {
+            final int n = topology.neighbours(mines[m], adjacent);
+            for (int k = 0; k < n; k++)
+                cells[adjacent[k]]++;
+        }
+    }
+
+    /**
+     * Moves a mine to another cell, e.g. to relocate it away from the first click.
+     */
+    public void moveMine(int from, int to) {
+        if (!isMine(from) || isMine(to))
+            throw new IllegalArgumentException("Cannot move mine from " + from + " to " + to);
+        setMine(from, false);
+        setMine(to, true);
+    }
+
+    /**
+     * Flags or unflags a cell. Revealed cells cannot be flagged.
+     */
+    public void toggleFlag(int index) {
+        if (isRevealed(index)) return;
+        changes.begin();
+        cells[index] ^= FLAGGED;
+        flagCount += isFlagged(index) ? 1 : -1;
+        changed(index);
+        changes.end();
+    }
+
+    /**
+     * Writes the indices of all cells adjacent to {@code index} into {@code out}.
+     * @return the number of neighbours written, at most {@link Topology#getMaxNeighbours()}
+     */
+    public int neighbours(int index, int[] out) {
+        return topology.neighbours(index, out);
+    }
+
+    /**
+     * Reveals a cell, and flood fills all the cells around it if there is no mine nearby.
+     * Uses an explicit work stack instead of recursion, every cell gets pushed at most once.
+     * @return the number of cells that got revealed, 0 if the cell already was revealed
+     */
+    public int reveal(int index) {
+        changes.begin();
+        final int revealed = flood(index);
+        changes.end();
+        return revealed;
+    }
+
+    /**
+     * Chords a revealed number: if as many neighbours are flagged as the cached count of adjacent mines says,
+     * all unflagged neighbours are revealed along with their flood fills, in a single batch.
+     * A wrongly placed flag lets the chord reveal a mine, which has to be looked for among the neighbours afterwards.
+     * @return the number of cells that got revealed, 0 if the cell is hidden or the flags do not match the count
+     */
+    public int chord(int index) {
+        if ((cells[index] & (REVEALED | MINE)) != REVEALED) return 0;
+        final int n = topology.neighbours(index, chorded);
+        int flags = 0;
+        for (int k = 0; k < n; k++)
+            if ((cells[chorded[k]] & FLAGGED) != 0) flags++;
+        if (flags != getAdjacentMineCount(index)) return 0;
+
+        int revealed = 0;
+        changes.begin();
+        for (int k = 0; k < n; k++)
+            if ((cells[chorded[k]] & FLAGGED) == 0)
+                revealed += flood(chorded[k]);
+        changes.end();
+        return revealed;
+    }
+
+    /**
+     * @return whether a neighbour of the cell is a revealed mine, e.g. after a chord
+     */
+    public boolean isMineRevealedAround(int index) {
+        final int n = topology.neighbours(index, adjacent);
+        for (int k = 0; k < n; k++)
+            if ((cells[adjacent[k]] & (REVEALED | MINE)) == (REVEALED | MINE)) return true;
+        return false;
+    }
+
+    private int flood(int index) {
+        if (isRevealed(index)) return 0;
+        if (isFlagged(index)) flagCount--;
+        cells[index] = (byte) ((cells[index] | REVEALED) & ~FLAGGED);
+        changed(index);
+        if (isMine(index)) return 1;
+        revealedSafeCount++;
+        if (getAdjacentMineCount(index) != 0) return 1;
+
+        int revealed = 1;
+        int top = 0;
+        stack[top++] = index;
+        while (top > 0) {
+            final int count = topology.neighbours(stack[--top], adjacent);
+            for (int k = 0; k < count; k++) {
+                final int n = adjacent[k];
+                if ((cells[n] & REVEALED) != 0) continue;
+                if ((cells[n] & FLAGGED) != 0) flagCount--;
+                cells[n] = (byte) ((cells[n] | REVEALED) & ~FLAGGED);
+                changed(n);
+                revealed++;
+                if ((cells[n] & (MINE | COUNT_MASK)) == 0) {
+                    if (top == stack.length)
+                        stack = Arrays.copyOf(stack, Math.min(cells.length, stack.length * 2));
+                    stack[top++] = n;
+                }
+            }
+        }
+        revealedSafeCount += revealed - 1;
+        return revealed;
+    }
+
+    /**
+     * Reveals every mine. Only touches the recorded mine positions instead of scanning the whole board.
+     */
+    public void revealMines() {
+        changes.begin();
+        for (int m = 0; m < mineCount; m++) {
+            final int i = mines[m];
+            if (isRevealed(i)) continue;
+            if (isFlagged(i)) flagCount--;
+            cells[i] = (byte) ((cells[i] | REVEALED) & ~FLAGGED);
+            changed(i);
+        }
+        changes.end();
+    }
+
+    /**
+     * @return the number of cells whose visible state changed since the last {@link #snapshot()},
+     * none before the first one
+     */
+    public int getChangeCount() {
+        return snapshotted == null ? 0 : changes.size() - snapshotted.getPosition();
+    }
+
+    /**
+     * @return the index of the {@code i}-th cell changed since the last snapshot, a cell may be listed more than once
+     */
+    public int getChange(int i) {
+        return changes.getCell(snapshotted.getPosition() + i);
+    }
+
+    /**
+     * @return the deltas of all changes, to subscribe to or to drain through a cursor of one's own
+     */
+    public ChangeFeed getChangeFeed() {
+        return changes;
+    }
+
+    /**
+     * Copies the board into an immutable snapshot, e.g. to hand it over to another thread.
+     * The snapshot lists the cells changed since the previous one, other consumers of the change feed keep theirs.
+     * Only the pages with a changed cell are copied, the others are shared with the previous snapshot.
+     */
+    public BoardSnapshot snapshot() {
+        if (snapshotted == null)
+            snapshotted = changes.openCursor(); // the first snapshot copies every page anyway
+        final int[] changed = changes.copyCells(snapshotted.getPosition());
+        final byte[][] pages;
+        if (published == null || recopy) {
+            pages = new byte[(cells.length + (1 << BoardSnapshot.PAGE_BITS) - 1) >>> BoardSnapshot.PAGE_BITS][];
+            for (int page = 0; page < pages.length; page++)
+                pages[page] = copyPage(page);
+            recopy = false;
+        }
+        else {
+            pages = published.clone();
+            for (int index : changed) {
+                final int page = index >>> BoardSnapshot.PAGE_BITS;
+                if (pages[page] == published[page])
+                    pages[page] = copyPage(page);
+            }
+        }
+        published = pages;
+        final BoardSnapshot snapshot = new BoardSnapshot(width, height, cells.length, pages, changed, snapshotCount++);
+        snapshotted.consumeAll();
+        return snapshot;
+    }
+
+    private byte[] copyPage(int page) {
+        final int from = page << BoardSnapshot.PAGE_BITS;
+        return Arrays.copyOfRange(cells, from, Math.min(cells.length, from + (1 << BoardSnapshot.PAGE_BITS)));
+    }
+
+    /**
+     * Records the cell as the player sees it now, hidden cells only show their flag.
+     */
+    private void changed(int index) {
+        final byte cell = cells[index];
+        changes.add(index, (cell & REVEALED) != 0 ? (byte) (cell & ~FLAGGED) : (byte) (cell & FLAGGED));
+    }
+}
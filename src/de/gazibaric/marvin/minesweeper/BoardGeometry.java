@@ -0,0 +1,99 @@
+package de.gazibaric.marvin.minesweeper;
+
+// This file is part of Minesweeper, created on 18.10.2026 by (c) Marvin Gazibarić.
+// You are generally not allowed to modify, distribute or use this code,
+// when you do not have the explicit permission to do so.
+// For questions about this, refer to the LICENSE.md file probably provided with the project files.
+
+import java.awt.*;
+import java.awt.geom.Rectangle2D;
+
+/**
+ * Screen layout of a board: where every cell goes, which cell is under a point and what a cell looks like.
+ * There is one implementation per {@link Topology}, the rest of the rendering does not know the shape of the cells.
+ */
+public interface BoardGeometry {
+
+    int OUTSIDE = -1;
+
+    /**
+     * Fits the board into the given render area, keeping the cells in shape and the board centered.
+     * The view set by {@link #setView} is applied on top of that.
+     */
+    void layout(int renderWidth, int renderHeight);
+
+    /**
+     * Sets the camera for the next {@link #layout}: the fitted board is zoomed around the center of the render area
+     * and then moved by the given number of pixels. A zoom of 1 without any pan shows the whole board.
+     */
+    void setView(float zoom, float panX, float panY);
+
+    /**
+     * @return the size of one raster unit in pixels, a sixth of the distance between two cells
+     */
+    float getScale();
+
+    /**
+     * @return the size of the square box a cell is drawn in, glyphs get centered in it
+     */
+    int cellSize();
+
+    int cellX(int index);
+
+    int cellY(int index);
+
+    /**
+     * @return the index of the cell at the given screen point, or {@link #OUTSIDE} if the point is in a gap or off the board
+     */
+    int cellAt(int px, int py);
+
+    /**
+     * Fills the shape of a cell with the current color.
+     * @param lift how far to move the cell up and left, hovered cells are drawn lifted
+     */
+    void fillCell(Graphics2D gx, int index, float lift);
+
+    /**
+     * Clips to the slot of a cell: the cell and the gap around it, without touching any other cell.
+     */
+    void clipSlot(Graphics2D gx, int index);
+
+    /**
+     * Writes the columns and rows of the cells on screen into {@code cells}, the cells outside of it are culled.
+     * Depends on the render area only, so iterating it takes as long for a huge board as for a small one.
+     */
+    void visibleCells(Rectangle cells);
+
+    /**
+     * @return the index of the cell in the given column and row of the cells on screen
+     */
+    int cellIndex(int column, int row);
+
+    boolean isVisible(int index);
+
+    /**
+     * Writes the area an image of the board with one pixel per column and row is scaled onto,
+     * so that every pixel lands on its cell, see {@link BoardRaster}.
+     */
+    void rasterBounds(Rectangle2D area);
+
+    /**
+     * @return the number of slices the board is shown in one by one, e.g. the layers of a three-dimensional board
+     */
+    default int getSliceCount() {
+        return 1;
+    }
+
+    /**
+     * Shows the given slice from now on, the cells of the other slices are not on screen.
+     */
+    default void showSlice(int slice) {}
+
+    static BoardGeometry of(Topology topology) {
+        if (topology instanceof HexTopology)
+            return new HexGeometry(topology.getWidth(), topology.getHeight());
+        if (topology instanceof LayeredTopology)
+            return new SliceGeometry(topology.getWidth(), topology.getHeight(), ((LayeredTopology) topology).getDepth());
+        return new GridGeometry(topology.getWidth(), topology.getHeight());
+    }
+}
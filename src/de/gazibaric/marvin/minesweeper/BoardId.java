@@ -0,0 +1,89 @@
+package de.gazibaric.marvin.minesweeper;
+
+// This file is part of Minesweeper, created on 18.10.2026 by (c) Marvin Gazibarić.
+// You are generally not allowed to modify, distribute or use this code,
+// when you do not have the explicit permission to do so.
+// For questions about this, refer to the LICENSE.md file probably provided with the project files.
+
+import java.util.Random;
+
+/**
+ * Everything needed to generate a board again: the topology, the number of mines, the first click and the seed.
+ * Written as a short identifier like {@code 32x32-270-528-3w5e11264sgra} or {@code hex32x32-270-528-3w5e11264sgra},
+ * which can be parsed back
+ * to replay the exact same board for benchmarks, bug reports or comparing players.
+ */
+public final class BoardId {
+
+    public final Topology topology;
+    public final int width;
+    public final int height;
+    public final int mineCount;
+    public final int firstClick;
+    public final long seed;
+
+    public BoardId(int width, int height, int mineCount, int firstClick, long seed) {
+        this(new SquareTopology(width, height), mineCount, firstClick, seed);
+    }
+
+    public BoardId(Topology topology, int mineCount, int firstClick, long seed) {
+        if (mineCount < 0 || firstClick < 0 || firstClick >= topology.getSize())
+            throw new IllegalArgumentException("Invalid board: " + topology + ", "
+                    + mineCount + " mines, first click at " + firstClick);
+        this.topology = topology;
+        this.width = topology.getWidth();
+        this.height = topology.getHeight();
+        this.mineCount = mineCount;
+        this.firstClick = firstClick;
+        this.seed = seed;
+    }
+
+    /**
+     * Generates the board. The same id always produces the same mine layout.
+     */
+    public Board generate() {
+        Board board = new Board(topology);
+        spreadMines(board);
+        return board;
+    }
+
+    /**
+     * Spreads the mines of this id over an empty board of the same topology.
+     */
+    public void spreadMines(Board board) {
+        if (!board.getTopology().equals(topology))
+            throw new IllegalArgumentException("Board topology does not match " + this);
+        MinePlacer.place(board, firstClick, mineCount, new Random(seed));
+    }
+
+    public static BoardId parse(String id) {
+        String[] parts = id.trim().split("-");
+        if (parts.length != 4)
+            throw new IllegalArgumentException("Malformed board id: " + id);
+        return new BoardId(Topology.parse(parts[0]), Integer.parseInt(parts[1]),
+                Integer.parseInt(parts[2]), Long.parseUnsignedLong(parts[3], 36));
+    }
+
+    @Override
+    public String toString() {
+        return topology.toString() + '-' + mineCount + '-' + firstClick + '-' + Long.toUnsignedString(seed, 36);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof BoardId)) return false;
+        BoardId other = (BoardId) o;
+        return topology.equals(other.topology) && mineCount == other.mineCount
+                && firstClick == other.firstClick && seed == other.seed;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = topology.hashCode();
+        result = 31 * result + mineCount;
+        result = 31 * result + firstClick;
+        result = 31 * result + Long.hashCode(seed);
+        return result;
+    }
+}
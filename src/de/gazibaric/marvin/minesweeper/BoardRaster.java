@@ -0,0 +1,109 @@
+package de.gazibaric.marvin.minesweeper;
+
+// This file is part of Minesweeper, created on 18.10.2026 by (c) Marvin Gazibarić.
+// You are generally not allowed to modify, distribute or use this code,
+// when you do not have the explicit permission to do so.
+// For questions about this, refer to the LICENSE.md file probably provided with the project files.
+
+import java.awt.*;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+
+/**
+ * The board as an image of one pixel per cell, written straight into the pixel array of the image.
+ * Hidden cells get the accent colour and revealed cells their level colour. Flags and mines would not stand out
+ * in the foreground colour, which the themes share with the hidden cells, so they are red like a count of 5.
+ * Drawing the board then is a single scaled drawImage, used for the overview of boards too dense to draw cell by cell
+ * and for the minimap. Only the changed cells are written again, like the board layer.
+ */
+public class BoardRaster {
+
+    private final int width, height;
+    private final BufferedImage image;
+    private final int[] pixels;
+    private final int[] levels;
+    private int hidden, marked, empty;
+
+    private BoardSnapshot board;
+    private int slice = -1;
+    private GameResources.Theme theme;
+
+    /**
+     * @param topology the board, three-dimensional boards are shown one slice at a time
+     */
+    public BoardRaster(Topology topology) {
+        this.width = topology.getWidth();
+        this.height = topology.getHeight();
+        this.image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        this.pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        this.levels = new int[topology.getMaxNeighbours() + 1];
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Brings the image up to date with the given board, rewriting everything only after a theme or slice change
+     * or when snapshots were skipped. The same snapshot again leaves the image untouched.
+     */
+    public void validate(BoardSnapshot cells, int slice) {
+        final GameResources.Theme current = GameResources.getResources().getTheme();
+        if (cells == board && current == theme && slice == this.slice) return;
+        final int base = slice * pixels.length;
+        if (current != theme || slice != this.slice || board == null || cells.getVersion() != board.getVersion() + 1) {
+            if (current != theme) {
+                theme = current;
+                hidden = theme.getColor(GameResources.COLOR_ACC).getRGB();
+                marked = theme.getColor(GameResources.COLOR_GREAT_DANGER).getRGB();
+                empty = theme.getColor(GameResources.COLOR_BG).getRGB();
+                for (int n = 1; n < levels.length; n++)
+                    levels[n] = theme.getColor(GlyphAtlas.levelColor(n)).getRGB();
+            }
+            for (int i = 0; i < pixels.length; i++)
+                pixels[i] = color(cells, base + i);
+        }
+        else {
+            for (int i = 0; i < cells.getChangeCount(); i++) {
+                final int index = cells.getChange(i) - base;
+                if (index >= 0 && index < pixels.length) pixels[index] = color(cells, base + index);
+            }
+        }
+        this.board = cells;
+        this.slice = slice;
+    }
+
+    /**
+     * Makes the next {@link #validate} rewrite every cell.
+     */
+    public void invalidate() {
+        board = null;
+    }
+
+    /**
+     * Scales the image onto the given area, every cell becomes a block of the same colour whatever the interpolation
+     * of the render profile.
+     */
+    public void draw(Graphics2D gx, Rectangle2D area) {
+        final Object interpolation = gx.getRenderingHint(RenderingHints.KEY_INTERPOLATION);
+        gx.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        gx.drawImage(image, (int) Math.round(area.getX()), (int) Math.round(area.getY()),
+                (int) Math.round(area.getMaxX()), (int) Math.round(area.getMaxY()), 0, 0, width, height, null);
+        if (interpolation != null)
+            gx.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation);
+    }
+
+    private int color(BoardSnapshot cells, int index) {
+        if (!cells.isRevealed(index))
+            return cells.isFlagged(index) ? marked : hidden;
+        if (cells.isMine(index))
+            return marked;
+        final int count = cells.getAdjacentMineCount(index);
+        return count > 0 ? levels[count] : empty;
+    }
+}
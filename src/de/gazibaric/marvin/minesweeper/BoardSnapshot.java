@@ -0,0 +1,116 @@
+package de.gazibaric.marvin.minesweeper;
+
+// This file is part of Minesweeper, created on 18.10.2026 by (c) Marvin Gazibarić.
+// You are generally not allowed to modify, distribute or use this code,
+// when you do not have the explicit permission to do so.
+// For questions about this, refer to the LICENSE.md file probably provided with the project files.
+
+/**
+ * Immutable copy of a {@link Board} at the end of a logic tick, handed from the logic thread to the render thread.
+ * Besides the cells it lists the cells that changed since the previous snapshot of the same board,
+ * so a renderer that saw the previous snapshot only has to redraw those.
+ * <p>
+ * The cells are kept in pages of {@code 1 << PAGE_BITS} cells. A page is never written after it was published,
+ * so a snapshot shares all pages without a change with the previous one and only copies the others.
+ */
+public final class BoardSnapshot {
+
+    static final int PAGE_BITS = 12;
+    private static final int PAGE_MASK = (1 << PAGE_BITS) - 1;
+
+    private final int width, height, size;
+    private final byte[][] pages;
+    private final int[] changes;
+    private final long version;
+
+    BoardSnapshot(int width, int height, int size, byte[][] pages, int[] changes, long version) {
+        this.width = width;
+        this.height = height;
+        this.size = size;
+        this.pages = pages;
+        this.changes = changes;
+        this.version = version;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * @return the number of rows of one layer, see {@link Board#getHeight()}
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * @return the number of layers, 1 for all flat boards
+     */
+    public int getDepth() {
+        return size / (width * height);
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int x(int index) {
+        return index % width;
+    }
+
+    /**
+     * @return the row counted through all layers, like {@link Board#y(int)}
+     */
+    public int y(int index) {
+        return index / width;
+    }
+
+    public boolean isMine(int index) {
+        return (cell(index) & Board.MINE) != 0;
+    }
+
+    public boolean isRevealed(int index) {
+        return (cell(index) & Board.REVEALED) != 0;
+    }
+
+    public boolean isFlagged(int index) {
+        return (cell(index) & Board.FLAGGED) != 0;
+    }
+
+    public int getAdjacentMineCount(int index) {
+        return cell(index) & Board.COUNT_MASK;
+    }
+
+    /**
+     * @return the number of this snapshot, counting up by one for every snapshot taken of the board
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return the number of cells that changed since the previous snapshot
+     */
+    public int getChangeCount() {
+        return changes.length;
+    }
+
+    /**
+     * @return the index of the {@code i}-th cell changed since the previous snapshot, a cell may be listed more than once
+     */
+    public int getChange(int i) {
+        return changes[i];
+    }
+
+    /**
+     * @return whether a cell looks different in this snapshot than in the given older one of the same board
+     */
+    public boolean differs(BoardSnapshot older, int index) {
+        final int page = index >>> PAGE_BITS;
+        return pages[page] != older.pages[page] && cell(index) != older.cell(index);
+    }
+
+    private byte cell(int index) {
+        return pages[index >>> PAGE_BITS][index & PAGE_MASK];
+    }
+}
@@ -0,0 +1,236 @@
+package de.gazibaric.marvin.minesweeper;
+
+// This file is part of Minesweeper, created on 18.10.2026 by (c) Marvin Gazibarić.
+// You are generally not allowed to modify, distribute or use this code,
+// when you do not have the explicit permission to do so.
+// For questions about this, refer to the LICENSE.md file probably provided with the project files.
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The cells of a {@link Board} whose visible state changed, as deltas of a cell index and the new state.
+ * Deltas are grouped into batches, one per player action: a flood fill opening thousands of cells is a single batch.
+ * Batches nest, e.g. the reveals of a chord all end up in the batch of the chord, and get consecutive ids.
+ * Deltas are kept in primitive arrays that grow on demand and are reused, recording them never allocates per cell.
+ * Consumers either subscribe and get told about every finished batch, or drain the feed through a {@link Cursor}
+ * of their own. Deltas are kept until every cursor has passed them, so one consumer never takes them from another,
+ * and not at all once the listeners have seen them when no cursor is open.
+ * <p>
+ * The state is the byte of the cell as the player sees it: the revealed and flag bits, and for revealed cells
+ * the mine bit and the adjacent mine count. Hidden cells never give their content away.
+ */
+public class ChangeFeed {
+
+    public interface Listener {
+        /**
+         * Called when the outermost batch of an action finished, with the position of the batch in the feed.
+         */
+        void batchDone(ChangeFeed feed, int batch);
+    }
+
+    private int[] cells = new int[64];
+    private byte[] states = new byte[64];
+    private int size = 0;
+
+    private int[] batchIds = new int[16];
+    private int[] batchStarts = new int[16];
+    private int batchCount = 0;
+    private int nextBatchId = 0;
+    private int depth = 0; // of the nested batches currently open
+
+    private final List<Listener> listeners = new ArrayList<>();
+    private final List<Cursor> cursors = new ArrayList<>();
+
+    /**
+     * The position of one consumer in the feed, the deltas from the position up to {@link #size()} are the ones
+     * it did not consume yet.
+     */
+    public final class Cursor {
+
+        private int position;
+
+        private Cursor(int position) {
+            this.position = position;
+        }
+
+        /**
+         * @return the position of the first delta not consumed yet
+         */
+        public int getPosition() {
+            return position;
+        }
+
+        /**
+         * Consumes all deltas recorded so far. Deltas every cursor has consumed are dropped, unless a batch is open.
+         */
+        public void consumeAll() {
+            position = size;
+            trim();
+        }
+
+        /**
+         * Stops keeping deltas for this cursor.
+         */
+        public void close() {
+            cursors.remove(this);
+            trim();
+        }
+    }
+
+    /**
+     * Opens a batch, or joins the batch already open.
+     */
+    public void begin() {
+        if (depth++ > 0) return;
+        if (batchCount == batchIds.length) {
+            batchIds = Arrays.copyOf(batchIds, batchCount * 2);
+            batchStarts = Arrays.copyOf(batchStarts, batchCount * 2);
+        }
+        batchIds[batchCount] = nextBatchId++;
+        batchStarts[batchCount] = size;
+        batchCount++;
+    }
+
+    /**
+     * Closes the batch opened by the matching {@link #begin()}. The outermost one is handed to the listeners,
+     * unless nothing changed in it, then it is dropped and its id is given to the next batch.
+     * With no cursor open the batch is dropped once the listeners have seen it.
+     */
+    public void end() {
+        if (depth == 0)
+            throw new IllegalStateException("No batch open");
+        if (--depth > 0) return;
+        final int batch = batchCount - 1;
+        if (batchStarts[batch] == size) {
+            batchCount--;
+            nextBatchId--;
+            return;
+        }
+        for (int l = 0; l < listeners.size(); l++)
+            listeners.get(l).batchDone(this, batch);
+        trim();
+    }
+
+    /**
+     * Records a delta. Outside of any batch the delta gets a batch of its own.
+     */
+    void add(int cell, byte state) {
+        if (depth == 0) {
+            begin();
+            add(cell, state);
+            end();
+            return;
+        }
+        if (size == cells.length) {
+            cells = Arrays.copyOf(cells, size * 2);
+            states = Arrays.copyOf(states, size * 2);
+        }
+        cells[size] = cell;
+        states[size] = state;
+        size++;
+    }
+
+    /**
+     * @return a new cursor, positioned after all deltas recorded so far
+     */
+    public Cursor openCursor() {
+        final Cursor cursor = new Cursor(size);
+        cursors.add(cursor);
+        return cursor;
+    }
+
+    public void subscribe(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void unsubscribe(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * @return the number of deltas kept, a cell may be listed more than once
+     */
+    public int size() {
+        return size;
+    }
+
+    public int getCell(int i) {
+        return cells[i];
+    }
+
+    public byte getState(int i) {
+        return states[i];
+    }
+
+    /**
+     * @return a copy of the indices of the changed cells from the given position on, in the order they changed
+     */
+    public int[] copyCells(int from) {
+        return Arrays.copyOfRange(cells, from, size);
+    }
+
+    public int getBatchCount() {
+        return batchCount;
+    }
+
+    public int getBatchId(int batch) {
+        return batchIds[batch];
+    }
+
+    /**
+     * @return the position of the first delta of a batch
+     */
+    public int getBatchStart(int batch) {
+        return batchStarts[batch];
+    }
+
+    /**
+     * @return the position after the last delta of a batch
+     */
+    public int getBatchEnd(int batch) {
+        return batch + 1 < batchCount ? batchStarts[batch + 1] : size;
+    }
+
+    /**
+     * Drops the deltas all cursors have consumed, and the batches that only consisted of them.
+     * Positions of the deltas kept and of the cursors move down accordingly, batch ids keep counting on.
+     */
+    private void trim() {
+        if (depth > 0) return;
+        int consumed = size;
+        for (int c = 0; c < cursors.size(); c++)
+            consumed = Math.min(consumed, cursors.get(c).position);
+        if (consumed == 0) return;
+        int dropped = 0;
+        while (dropped < batchCount && getBatchEnd(dropped) <= consumed)
+            dropped++;
+        System.arraycopy(cells, consumed, cells, 0, size - consumed);
+        System.arraycopy(states, consumed, states, 0, size - consumed);
+        size -= consumed;
+        for (int b = dropped; b < batchCount; b++) {
+            batchIds[b - dropped] = batchIds[b];
+            batchStarts[b - dropped] = Math.max(0, batchStarts[b] - consumed);
+        }
+        batchCount -= dropped;
+        for (int c = 0; c < cursors.size(); c++)
+            cursors.get(c).position -= consumed;
+    }
+
+    public static boolean isRevealed(byte state) {
+        return (state & Board.REVEALED) != 0;
+    }
+
+    public static boolean isFlagged(byte state) {
+        return (state & Board.FLAGGED) != 0;
+    }
+
+    public static boolean isMine(byte state) {
+        return (state & Board.MINE) != 0;
+    }
+
+    public static int getAdjacentMineCount(byte state) {
+        return state & Board.COUNT_MASK;
+    }
+}
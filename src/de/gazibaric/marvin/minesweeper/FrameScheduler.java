@@ -0,0 +1,59 @@
+package de.gazibaric.marvin.minesweeper;
+
+// This file is part of Minesweeper, created on 18.10.2026 by (c) Marvin Gazibarić.
+// You are generally not allowed to modify, distribute or use this code,
+// when you do not have the explicit permission to do so.
+// For questions about this, refer to the LICENSE.md file probably provided with the project files.
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Decides when the game loop renders the next frame. A frame is only rendered after something requested one,
+ * e.g. input, an animation or a resize, so an idle game renders no frames at all.
+ * Frames are paced to the target frame rate using {@link System#nanoTime()} deadlines.
+ */
+public class FrameScheduler {
+
+    private final Object lock = new Object();
+    private final long frameNanos;
+
+    private boolean requested = true; // the very first frame is always rendered
+    private long deadline = System.nanoTime();
+
+    public FrameScheduler(int targetFrameRate) {
+        if (targetFrameRate <= 0)
+            throw new IllegalArgumentException("Invalid frame rate: " + targetFrameRate);
+        this.frameNanos = 1_000_000_000L / targetFrameRate;
+    }
+
+    /**
+     * Requests a frame. Can be called from any thread, several requests before the next frame result in one frame.
+     */
+    public void requestFrame() {
+        synchronized (lock) {
+            requested = true;
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Blocks until a frame has been requested and the deadline of the next frame has passed.
+     * Requests arriving while the frame is rendered lead to another frame.
+     */
+    public void awaitFrame() throws InterruptedException {
+        synchronized (lock) {
+            while (!requested)
+                lock.wait();
+            requested = false;
+        }
+        long now;
+        while ((now = System.nanoTime()) < deadline) {
+            LockSupport.parkNanos(deadline - now);
+            if (Thread.interrupted()) throw new InterruptedException();
+        }
+        // when more than a frame late, e.g. after being idle, the schedule starts over instead of catching up
+        deadline += frameNanos;
+        if (deadline < now)
+            deadline = now + frameNanos;
+    }
+}
@@ -0,0 +1,145 @@
+package de.gazibaric.marvin.minesweeper;
+
+// This file is part of Minesweeper, created on 18.10.2026 by (c) Marvin Gazibarić.
+// You are generally not allowed to modify, distribute or use this code,
+// when you do not have the explicit permission to do so.
+// For questions about this, refer to the LICENSE.md file probably provided with the project files.
+
+/**
+ * The rules of the game, without any input handling or rendering.
+ * Runs headless, e.g. for benchmarks and bots, and is driven by {@link MinefieldDefault} when played on screen.
+ * Cells are addressed by column and row, on a board with more than one layer the rows run through all layers,
+ * see {@link Board#getHeight()}.
+ */
+public class Game {
+
+    public enum State {
+        /** No cell is revealed yet, the mines get spread on the first reveal. */
+        READY,
+        RUNNING,
+        WON,
+        LOST
+    }
+
+    private final Board board;
+    private final int mineCount;
+    private final long seed;
+
+    private BoardId boardId;
+    private State state = State.READY;
+
+    /**
+     * Starts a new game, the mines get spread around the first revealed cell using the given seed.
+     */
+    public Game(int width, int height, int mineCount, long seed) {
+        this(new SquareTopology(width, height), mineCount, seed);
+    }
+
+    /**
+     * Starts a new game on a board of the given topology.
+     */
+    public Game(Topology topology, int mineCount, long seed) {
+        this.board = new Board(topology);
+        this.mineCount = mineCount;
+        this.seed = seed;
+    }
+
+    /**
+     * Replays the board with the given id, the mines are spread right away.
+     */
+    public Game(BoardId id) {
+        this(id.topology, id.mineCount, id.seed);
+        spreadMines(id.firstClick);
+    }
+
+    public State state() {
+        return state;
+    }
+
+    public boolean isOver() {
+        return state == State.WON || state == State.LOST;
+    }
+
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * @return the number of mines to spread, the board itself only knows about the mines already spread
+     */
+    public int getMineCount() {
+        return mineCount;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return the id to replay this board with, or null as long as the mines are not spread
+     */
+    public BoardId getBoardId() {
+        return boardId;
+    }
+
+    /**
+     * Reveals a cell. Flagged cells are left alone, a cell without adjacent mines opens up its surroundings.
+     * @return the number of cells that got revealed
+     */
+    public int reveal(int x, int y) {
+        final int index = board.index(x, y);
+        if (isOver() || board.isFlagged(index)) return 0;
+        if (boardId == null)
+            spreadMines(index);
+        state = State.RUNNING;
+        // hitting a mine and showing all the others is a single batch
+        board.getChangeFeed().begin();
+        final int revealed = board.reveal(index);
+        if (board.isMine(index)) {
+            state = State.LOST;
+            board.revealMines();
+        }
+        else if (board.getUnrevealedSafeCount() == 0)
+            state = State.WON;
+        board.getChangeFeed().end();
+        return revealed;
+    }
+
+    /**
+     * Flags or unflags a cell that is not revealed yet.
+     * @return whether the cell is flagged now
+     */
+    public boolean toggleFlag(int x, int y) {
+        final int index = board.index(x, y);
+        if (!isOver())
+            board.toggleFlag(index);
+        return board.isFlagged(index);
+    }
+
+    /**
+     * Reveals all unflagged neighbours of a revealed number, if as many neighbours are flagged as the number says.
+     * @return the number of cells that got revealed
+     */
+    public int chord(int x, int y) {
+        final int index = board.index(x, y);
+        if (isOver()) return 0;
+        // all neighbours are revealed by the board in one pass, the game is checked once for the whole chord
+        board.getChangeFeed().begin();
+        final int revealed = board.chord(index);
+        if (revealed > 0) {
+            if (board.isMineRevealedAround(index)) {
+                state = State.LOST;
+                board.revealMines();
+            }
+            else if (board.getUnrevealedSafeCount() == 0)
+                state = State.WON;
+        }
+        board.getChangeFeed().end();
+        return revealed;
+    }
+
+    private void spreadMines(int firstClick) {
+        boardId = new BoardId(board.getTopology(), mineCount, firstClick, seed);
+        boardId.spreadMines(board);
+    }
+}
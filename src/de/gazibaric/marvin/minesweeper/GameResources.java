@@ -3,8 +3,11 @@ package de.gazibaric.marvin.minesweeper;
 import java.awt.*;
 import java.io.BufferedInputStream;
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class GameResources {
 
@@ -45,8 +48,7 @@ public class GameResources {
     public static final String COLOR_THERE_IS_NO_ESCAPE = "color_level_7";
     public static final String COLOR_YOU_WILL_DIE_NOW = "color_level_8";
 
-    private volatile Properties strings;
-    private volatile Properties colors;
+    private final AtomicReference<Theme> theme = new AtomicReference<>(new Theme(new Properties(), new Properties()));
 
     private static GameResources resources;
 
@@ -55,40 +57,89 @@ public class GameResources {
         return resources;
     }
 
-    private GameResources() {
-        strings = new Properties();
-        colors = new Properties();
-    }
+    private GameResources() {}
 
     public void load() throws IOException {
-        strings.loadFromXML(new BufferedInputStream(GameResources.class.getResourceAsStream("strings.xml")));
-        colors.loadFromXML(new BufferedInputStream(GameResources.class.getResourceAsStream("color.xml")));
+        load("strings.xml", "color.xml");
     }
 
-    public String getStringResource(String key) {
-        String s = strings.getProperty(key, "");
+    /**
+     * Loads and compiles the given string and color files, then swaps them in all at once.
+     * Can be called at runtime to switch the theme, renderers notice the switch through {@link #getTheme()}.
+     */
+    public void load(String stringsFile, String colorsFile) throws IOException {
+        Properties strings = new Properties(), colors = new Properties();
+        strings.loadFromXML(new BufferedInputStream(GameResources.class.getResourceAsStream(stringsFile)));
+        colors.loadFromXML(new BufferedInputStream(GameResources.class.getResourceAsStream(colorsFile)));
         try {
-            if (s.split("-")[0].equals(MAGIC_WORD)) {
-                Random rng = new Random();
-                int i = rng.nextInt(Integer.parseInt(s.split("-")[1])) + 1;
-                s = strings.getProperty(key + '-' + i);
-            }
+            theme.set(new Theme(strings, colors));
         }
-        catch (Exception e) {
-            return "";
+        catch (IllegalArgumentException e) {
+            throw new IOException("Malformed resources", e);
         }
-        return s;
+    }
+
+    /**
+     * @return the compiled resources currently in use, a different instance after every (re)load
+     */
+    public Theme getTheme() {
+        return theme.get();
+    }
+
+    public String getStringResource(String key) {
+        return theme.get().getString(key);
     }
 
     public String getClickedStringDecoration(String s) {
-        String left = strings.getProperty(STRING_CLICKED_DECORATION_LEFT, "");
-        String right = strings.getProperty(STRING_CLICKED_DECORATION_RIGHT, "");
-        return left + s + right;
+        Theme t = theme.get();
+        return t.decorationLeft + s + t.decorationRight;
     }
 
     public Color getColorResource(String key) {
-        String s = colors.getProperty(key, "");
-        return new Color(Integer.parseInt(s, 16));
+        return theme.get().getColor(key);
     }
 
+    /**
+     * Immutable, pre-parsed tables of all strings and colors. Strings with several variants,
+     * marked as {@code 4422-<count>} in the file, are expanded into an array of all variants.
+     */
+    public static final class Theme {
+
+        private final Map<String, String[]> strings = new HashMap<>();
+        private final Map<String, Color> colors = new HashMap<>();
+        private final String decorationLeft;
+        private final String decorationRight;
+
+        private Theme(Properties stringFile, Properties colorFile) {
+            for (String key : stringFile.stringPropertyNames()) {
+                String s = stringFile.getProperty(key);
+                String[] parts = s.split("-");
+                if (parts.length == 2 && parts[0].equals(MAGIC_WORD)) {
+                    String[] variants = new String[Integer.parseInt(parts[1])];
+                    for (int i = 0; i < variants.length; i++)
+                        variants[i] = stringFile.getProperty(key + '-' + (i + 1), "");
+                    strings.put(key, variants);
+                }
+                else strings.put(key, new String[] {s});
+            }
+            for (String key : colorFile.stringPropertyNames())
+                colors.put(key, new Color(Integer.parseInt(colorFile.getProperty(key), 16)));
+            decorationLeft = getString(STRING_CLICKED_DECORATION_LEFT);
+            decorationRight = getString(STRING_CLICKED_DECORATION_RIGHT);
+        }
+
+        public String getString(String key) {
+            String[] variants = strings.get(key);
+            if (variants == null || variants.length == 0) return "";
+            if (variants.length == 1) return variants[0];
+            return variants[ThreadLocalRandom.current().nextInt(variants.length)];
+        }
+
+        public Color getColor(String key) {
+            Color col = colors.get(key);
+            if (col == null)
+                throw new IllegalArgumentException("Unknown color: " + key);
+            return col;
+        }
+    }
 }
@@ -0,0 +1,96 @@
+package de.gazibaric.marvin.minesweeper;
+
+// This file is part of Minesweeper, created on 18.10.2026 by (c) Marvin Gazibarić.
+// You are generally not allowed to modify, distribute or use this code,
+// when you do not have the explicit permission to do so.
+// For questions about this, refer to the LICENSE.md file probably provided with the project files.
+
+import java.awt.*;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * Pre-rendered glyphs of the cells: the adjacent mine counts in their level colours, the X of a mine and the X of a flag.
+ * The glyphs are rasterized once for the current cell size, drawing a cell then is a single drawImage.
+ * Counts above 8, only possible on three-dimensional boards, share the colour of the 8.
+ */
+public class GlyphAtlas {
+
+    public static final int FLAG = 0;
+    public static final int MINE = -1;
+
+    private static final String[] LEVEL_COLORS = {
+            GameResources.COLOR_STH_NEARBY, GameResources.COLOR_BE_CAREFUL, GameResources.COLOR_BE_VERY_CAREFUL,
+            GameResources.COLOR_DANGER, GameResources.COLOR_GREAT_DANGER, GameResources.COLOR_SURROUNDED_BY_MINES,
+            GameResources.COLOR_THERE_IS_NO_ESCAPE, GameResources.COLOR_YOU_WILL_DIE_NOW };
+
+    private final BufferedImage[] glyphs; // the flag, the counts and the mine last
+    private int size = -1;
+    private int margin;
+    private GameResources.Theme theme;
+    private RenderProfile profile;
+
+    /**
+     * @param maxCount the highest adjacent mine count to draw, the number of neighbours a cell can have
+     */
+    public GlyphAtlas(int maxCount) {
+        this.glyphs = new BufferedImage[maxCount + 2];
+    }
+
+    /**
+     * Makes sure the glyphs fit cells of the given size, rasterizing them again only if the size, the theme
+     * or the render profile changed.
+     */
+    public void validate(int size) {
+        final GameResources.Theme current = GameResources.getResources().getTheme();
+        final RenderProfile currentProfile = PreferencesManager.getPreferencesManager().getRenderProfile();
+        if (size == this.size && current == theme && currentProfile == profile) return;
+        this.size = size;
+        this.theme = current;
+        this.profile = currentProfile;
+        // the glyphs may reach a bit over the cell, so every image gets a margin of half a cell
+        this.margin = size / 2;
+        glyphs[FLAG] = rasterize("X", "X", theme.getColor(GameResources.COLOR_BG));
+        for (int n = 1; n < glyphs.length - 1; n++)
+            glyphs[n] = rasterize(Integer.toString(n), n < 10 ? "A" : "AA",
+                    theme.getColor(levelColor(n)));
+        glyphs[glyphs.length - 1] = rasterize("X", "A", theme.getColor(GameResources.COLOR_FG));
+    }
+
+    /**
+     * @return the key of the colour resource of an adjacent mine count from 1 on
+     */
+    static String levelColor(int count) {
+        return LEVEL_COLORS[Math.min(count, LEVEL_COLORS.length) - 1];
+    }
+
+    /**
+     * Draws a glyph centered on the cell at the given position.
+     * @param glyph {@link #FLAG}, {@link #MINE} or an adjacent mine count from 1 on
+     */
+    public void draw(Graphics2D gx, int glyph, int cellX, int cellY) {
+        gx.drawImage(glyphs[glyph == MINE ? glyphs.length - 1 : glyph], cellX - margin, cellY - margin, null);
+    }
+
+    /**
+     * @param ref the string whose width the font is scaled to, half the cell size
+     */
+    private BufferedImage rasterize(String s, String ref, Color col) {
+        final int imageSize = Math.max(1, size + 2 * margin);
+        BufferedImage image = new BufferedImage(imageSize, imageSize, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D gx = image.createGraphics();
+        try {
+            profile.apply(gx);
+            gx.setColor(col);
+            gx.setFont(PreferencesManager.getPreferencesManager().getFont().deriveFont(Font.BOLD, 12));
+            final double ratio = size / gx.getFontMetrics().getStringBounds(ref, gx).getWidth() / 2;
+            gx.setFont(gx.getFont().deriveFont(12 * (float) ratio));
+            final Rectangle2D bounds = gx.getFontMetrics().getStringBounds(s, gx);
+            gx.drawString(s, (float) (imageSize / 2.0 - bounds.getCenterX()), (float) (imageSize / 2.0 - bounds.getCenterY()));
+        }
+        finally {
+            gx.dispose();
+        }
+        return image;
+    }
+}
@@ -0,0 +1,161 @@
+package de.gazibaric.marvin.minesweeper;
+
+// This file is part of Minesweeper, created on 18.10.2026 by (c) Marvin Gazibarić.
+// You are generally not allowed to modify, distribute or use this code,
+// when you do not have the explicit permission to do so.
+// For questions about this, refer to the LICENSE.md file probably provided with the project files.
+
+import java.awt.*;
+import java.awt.geom.Rectangle2D;
+
+/**
+ * Screen layout of a square board. The render area is divided into a raster of {@code 6 * size + 3} units,
+ * every cell covers 5 units and is followed by a gap of 1 unit.
+ * Maps screen points to cells with plain arithmetic, independent of the board size.
+ * Only the columns and rows that intersect the render area are on screen once the board is zoomed in.
+ */
+public class GridGeometry implements BoardGeometry {
+
+    private final int width, height;
+
+    private float s, xoffset, yoffset;
+    private float zoom = 1, panX, panY;
+    private int firstColumn, endColumn, firstRow, endRow; // the cells on screen
+
+    public GridGeometry(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    @Override
+    public void layout(int renderWidth, int renderHeight) {
+        final int p;
+        if ((float) renderWidth / width > (float) renderHeight / height) {
+            p = height * 6 + 3;
+            s = (float) renderHeight / p;
+            xoffset = (renderWidth - s * p) / 2;
+            yoffset = 0;
+        }
+        else {
+            p = width * 6 + 3;
+            s = (float) renderWidth / p;
+            xoffset = 0;
+            yoffset = (renderHeight - s * p) / 2;
+        }
+        if (zoom != 1 || panX != 0 || panY != 0) {
+            xoffset = renderWidth / 2f + (xoffset - renderWidth / 2f) * zoom + panX;
+            yoffset = renderHeight / 2f + (yoffset - renderHeight / 2f) * zoom + panY;
+            s *= zoom;
+        }
+        if (s <= 0) {
+            firstColumn = endColumn = firstRow = endRow = 0;
+            return;
+        }
+        // a cell starts 2 units into its slot and is 5 units wide
+        firstColumn = Math.max(0, (int) Math.floor((-xoffset - s * 7) / (s * 6)));
+        endColumn = Math.min(width, (int) Math.floor((renderWidth - xoffset - s * 2) / (s * 6)) + 1);
+        firstRow = Math.max(0, (int) Math.floor((-yoffset - s * 7) / (s * 6)));
+        endRow = Math.min(height, (int) Math.floor((renderHeight - yoffset - s * 2) / (s * 6)) + 1);
+    }
+
+    @Override
+    public void setView(float zoom, float panX, float panY) {
+        this.zoom = zoom;
+        this.panX = panX;
+        this.panY = panY;
+    }
+
+    @Override
+    public float getScale() {
+        return s;
+    }
+
+    @Override
+    public int cellX(int index) {
+        return columnX(index % width);
+    }
+
+    @Override
+    public int cellY(int index) {
+        return rowY(index / width);
+    }
+
+    @Override
+    public int cellSize() {
+        return (int) (s * 5);
+    }
+
+    /**
+     * Lifted cells also lose the lift in size, so they stay within their slot.
+     */
+    @Override
+    public void fillCell(Graphics2D gx, int index, float lift) {
+        final int cx = cellX(index), cy = cellY(index), size = cellSize();
+        if (lift == 0)
+            gx.fillRect(cx, cy, size, size);
+        else
+            gx.fillRect((int) (cx - lift), (int) (cy - lift), (int) (size - lift), (int) (size - lift));
+    }
+
+    @Override
+    public void visibleCells(Rectangle cells) {
+        cells.setBounds(firstColumn, firstRow, Math.max(0, endColumn - firstColumn), Math.max(0, endRow - firstRow));
+    }
+
+    @Override
+    public int cellIndex(int column, int row) {
+        return row * width + column;
+    }
+
+    @Override
+    public boolean isVisible(int index) {
+        final int x = index % width, y = index / width;
+        return x >= firstColumn && x < endColumn && y >= firstRow && y < endRow;
+    }
+
+    /**
+     * Every pixel covers the slot of its cell, 6 units centered on the cell.
+     */
+    @Override
+    public void rasterBounds(Rectangle2D area) {
+        area.setRect(xoffset + s * 1.5f, yoffset + s * 1.5f, s * 6 * width, s * 6 * height);
+    }
+
+    @Override
+    public void clipSlot(Graphics2D gx, int index) {
+        final int pad = (int) Math.ceil(s / 25);
+        gx.setClip(cellX(index) - pad, cellY(index) - pad, cellSize() + 2 * pad, cellSize() + 2 * pad);
+    }
+
+    @Override
+    public int cellAt(int px, int py) {
+        final int x = column(px), y = row(py);
+        if (x == OUTSIDE || y == OUTSIDE) return OUTSIDE;
+        return y * width + x;
+    }
+
+    private int columnX(int x) {
+        return (int) (xoffset + x * s * 6 + s * 2);
+    }
+
+    private int rowY(int y) {
+        return (int) (yoffset + y * s * 6 + s * 2);
+    }
+
+    private int column(int px) {
+        if (s <= 0) return OUTSIDE;
+        // the cell origins are truncated to whole pixels, so the point may also lie in the next cell
+        final int x = (int) Math.floor((px - xoffset - s * 2) / (s * 6));
+        for (int c = Math.max(0, x); c <= x + 1 && c < width; c++)
+            if (px >= columnX(c) && px < columnX(c) + cellSize()) return c;
+        return OUTSIDE;
+    }
+
+    private int row(int py) {
+        if (s <= 0) return OUTSIDE;
+        final int y = (int) Math.floor((py - yoffset - s * 2) / (s * 6));
+        for (int r = Math.max(0, y); r <= y + 1 && r < height; r++)
+            if (py >= rowY(r) && py < rowY(r) + cellSize()) return r;
+        return OUTSIDE;
+    }
+}
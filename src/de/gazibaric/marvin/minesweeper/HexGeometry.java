@@ -0,0 +1,172 @@
+package de.gazibaric.marvin.minesweeper;
+
+// This file is part of Minesweeper, created on 18.10.2026 by (c) Marvin Gazibarić.
+// You are generally not allowed to modify, distribute or use this code,
+// when you do not have the explicit permission to do so.
+// For questions about this, refer to the LICENSE.md file probably provided with the project files.
+
+import java.awt.*;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+
+/**
+ * Screen layout of a {@link HexTopology}. The cells are pointy-topped hexagons, every odd row is shifted right
+ * by half a cell. A cell is drawn at five sixths of its slot, the hexagon that would tile the plane without gaps.
+ * Hit testing rounds the point to the nearest cell center in the two rows it lies between,
+ * then checks that it is not in the gap, with plain arithmetic instead of testing polygons.
+ * Only the columns and rows that intersect the render area are on screen once the board is zoomed in.
+ */
+public class HexGeometry implements BoardGeometry {
+
+    private static final float SQRT3 = (float) Math.sqrt(3);
+
+    private final int width, height;
+
+    private float w, r, xoffset, yoffset; // distance between two cells in a row, radius of a slot
+    private Shape cellShape, slotShape;
+    private float zoom = 1, panX, panY;
+    private int firstColumn, endColumn, firstRow, endRow; // the cells on screen
+
+    public HexGeometry(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    @Override
+    public void layout(int renderWidth, int renderHeight) {
+        // half a cell of border around the board, the odd rows need another half cell of width
+        final float w = Math.min(renderWidth / (width + 1.5f), renderHeight / ((1.5f * height + 0.5f) / SQRT3 + 1)) * zoom;
+        if (w != this.w || cellShape == null) {
+            this.w = w;
+            this.r = w / SQRT3;
+            this.cellShape = hexagon(r * 5 / 6);
+            this.slotShape = hexagon(r);
+        }
+        this.xoffset = (renderWidth - w * (width + 0.5f)) / 2 + panX;
+        this.yoffset = (renderHeight - r * (1.5f * height + 0.5f)) / 2 + panY;
+        if (w <= 0) {
+            firstColumn = endColumn = firstRow = endRow = 0;
+            return;
+        }
+        // a slot reaches half a cell left and right of its center, the odd rows are shifted by another half
+        firstColumn = Math.max(0, (int) Math.floor(-xoffset / w) - 1);
+        endColumn = Math.min(width, (int) Math.floor((renderWidth - xoffset) / w) + 1);
+        firstRow = Math.max(0, (int) Math.floor((-yoffset - 2 * r) / (1.5f * r)));
+        endRow = Math.min(height, (int) Math.floor((renderHeight - yoffset) / (1.5f * r)) + 1);
+    }
+
+    @Override
+    public void setView(float zoom, float panX, float panY) {
+        this.zoom = zoom;
+        this.panX = panX;
+        this.panY = panY;
+    }
+
+    @Override
+    public float getScale() {
+        return w / 6;
+    }
+
+    @Override
+    public int cellSize() {
+        return (int) (w * 5 / 6);
+    }
+
+    @Override
+    public int cellX(int index) {
+        return (int) (centerX(index % width, index / width) - w * 5 / 12);
+    }
+
+    @Override
+    public int cellY(int index) {
+        return (int) (centerY(index / width) - w * 5 / 12);
+    }
+
+    @Override
+    public int cellAt(int px, int py) {
+        if (w <= 0) return OUTSIDE;
+        final int above = (int) Math.floor((py - yoffset - r) / (1.5f * r));
+        int cell = OUTSIDE;
+        float dx = 0, dy = 0, distance = Float.MAX_VALUE;
+        for (int row = Math.max(0, above); row <= above + 1 && row < height; row++) {
+            final int col = Math.round((px - xoffset) / w - 0.5f - 0.5f * (row & 1));
+            if (col < 0 || col >= width) continue;
+            final float cx = px - centerX(col, row), cy = py - centerY(row);
+            if (cx * cx + cy * cy < distance) {
+                distance = cx * cx + cy * cy;
+                dx = Math.abs(cx);
+                dy = Math.abs(cy);
+                cell = row * width + col;
+            }
+        }
+        // the nearest center owns the slot, the point still has to be within the drawn hexagon
+        final float radius = r * 5 / 6;
+        if (cell == OUTSIDE || dx > radius * SQRT3 / 2 || dy + dx / SQRT3 > radius) return OUTSIDE;
+        return cell;
+    }
+
+    @Override
+    public void fillCell(Graphics2D gx, int index, float lift) {
+        final double cx = centerX(index % width, index / width) - lift, cy = centerY(index / width) - lift;
+        gx.translate(cx, cy);
+        gx.fill(cellShape);
+        gx.translate(-cx, -cy);
+    }
+
+    @Override
+    public void visibleCells(Rectangle cells) {
+        cells.setBounds(firstColumn, firstRow, Math.max(0, endColumn - firstColumn), Math.max(0, endRow - firstRow));
+    }
+
+    @Override
+    public int cellIndex(int column, int row) {
+        return row * width + column;
+    }
+
+    @Override
+    public boolean isVisible(int index) {
+        final int x = index % width, y = index / width;
+        return x >= firstColumn && x < endColumn && y >= firstRow && y < endRow;
+    }
+
+    /**
+     * The rows of hexagons overlap, a row of pixels is as high as the distance between two rows.
+     * The shift of the odd rows is split evenly between all rows, so a pixel is at most a quarter cell off.
+     */
+    @Override
+    public void rasterBounds(Rectangle2D area) {
+        area.setRect(xoffset + w / 4, yoffset + r / 4, w * width, 1.5f * r * height);
+    }
+
+    @Override
+    public void clipSlot(Graphics2D gx, int index) {
+        final double cx = centerX(index % width, index / width), cy = centerY(index / width);
+        gx.translate(cx, cy);
+        gx.setClip(slotShape);
+        gx.translate(-cx, -cy);
+    }
+
+    private float centerX(int col, int row) {
+        return xoffset + w * (col + 0.5f + 0.5f * (row & 1));
+    }
+
+    private float centerY(int row) {
+        return yoffset + r * (1 + 1.5f * row);
+    }
+
+    /**
+     * @return a pointy-topped hexagon around the origin
+     */
+    private static Shape hexagon(float radius) {
+        final float half = radius * SQRT3 / 2;
+        Path2D.Float path = new Path2D.Float();
+        path.moveTo(0, -radius);
+        path.lineTo(half, -radius / 2);
+        path.lineTo(half, radius / 2);
+        path.lineTo(0, radius);
+        path.lineTo(-half, radius / 2);
+        path.lineTo(-half, -radius / 2);
+        path.closePath();
+        return path;
+    }
+}
@@ -0,0 +1,44 @@
+package de.gazibaric.marvin.minesweeper;
+
+// This file is part of Minesweeper, created on 18.10.2026 by (c) Marvin Gazibarić.
+// You are generally not allowed to modify, distribute or use this code,
+// when you do not have the explicit permission to do so.
+// For questions about this, refer to the LICENSE.md file probably provided with the project files.
+
+/**
+ * A board of pointy-topped hexagons in offset coordinates, every odd row is shifted right by half a cell.
+ * Every cell touches six others, which of the cells above and below depends on whether the row is even or odd,
+ * so there is one table of offsets per row parity.
+ */
+public final class HexTopology extends Topology {
+
+    static final String PREFIX = "hex";
+
+    private static final int[][] DX = { { -1, 0, -1, 1, -1, 0 }, { 0, 1, -1, 1, 0, 1 } };
+    private static final int[] DY = { -1, -1, 0, 0, 1, 1 };
+
+    private final int[][] offsets = new int[2][DY.length];
+
+    public HexTopology(int width, int height) {
+        super(width, height);
+        for (int parity = 0; parity < 2; parity++)
+            for (int k = 0; k < DY.length; k++)
+                offsets[parity][k] = DY[k] * width + DX[parity][k];
+    }
+
+    @Override
+    public int getMaxNeighbours() {
+        return 6;
+    }
+
+    @Override
+    public int neighbours(int index, int[] out) {
+        final int y = index / width, parity = y & 1;
+        return planarNeighbours(index, index % width, y, DX[parity], DY, offsets[parity], out);
+    }
+
+    @Override
+    public String toString() {
+        return PREFIX + super.toString();
+    }
+}
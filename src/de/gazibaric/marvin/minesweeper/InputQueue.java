@@ -0,0 +1,164 @@
+package de.gazibaric.marvin.minesweeper;
+
+// This file is part of Minesweeper, created on 18.10.2026 by (c) Marvin Gazibarić.
+// You are generally not allowed to modify, distribute or use this code,
+// when you do not have the explicit permission to do so.
+// For questions about this, refer to the LICENSE.md file probably provided with the project files.
+
+import java.awt.event.MouseEvent;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Bounded lock-free ring buffer of input events, written by the event dispatch thread and drained by the game loop.
+ * Every event keeps its own id, position, button or key code and timestamp, and events are polled in the order
+ * they were offered. Mouse motion is coalesced: only the latest position since the previous other event is kept,
+ * in a slot of its own, so a burst of motion never fills the ring. No other event is ever lost, if the ring is full
+ * anyway they wait in an unbounded overflow queue until the ring is drained. Neither side ever blocks.
+ * Exactly one thread may offer and exactly one thread may poll.
+ */
+public class InputQueue {
+
+    private final int mask;
+    private final int[] ids, xs, ys, codes;
+    private final long[] times;
+
+    private final AtomicLong head = new AtomicLong(); // next event to poll, only advanced by the consumer
+    private final AtomicLong tail = new AtomicLong(); // next free slot, only advanced by the producer
+
+    private final Queue<Event> overflow = new ConcurrentLinkedQueue<>(); // events the ring had no room for, in order
+    private final AtomicReference<Event> motion = new AtomicReference<>(); // the latest motion not polled yet
+    private long offered = 0; // events put into the ring or the overflow, only touched by the producer
+    private long polled = 0; // events taken from the ring or the overflow, only touched by the consumer
+
+    // the event polled last, only touched by the consumer
+    private int id, x, y, code;
+    private long when;
+
+    /**
+     * @param capacity the number of events the ring can hold, rounded up to a power of two
+     */
+    public InputQueue(int capacity) {
+        final int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.mask = size - 1;
+        this.ids = new int[size];
+        this.xs = new int[size];
+        this.ys = new int[size];
+        this.codes = new int[size];
+        this.times = new long[size];
+    }
+
+    /**
+     * Appends an event. Never blocks and never drops an event, mouse motion replaces the motion not polled yet.
+     * @param id the kind of event, e.g. {@link MouseEvent#MOUSE_RELEASED}
+     * @param code the mouse button or key code
+     */
+    public void offer(int id, int x, int y, int code, long when) {
+        if (id == MouseEvent.MOUSE_MOVED || id == MouseEvent.MOUSE_DRAGGED) {
+            // everything offered so far has to be polled before this motion
+            motion.set(new Event(id, x, y, code, when, offered));
+            return;
+        }
+        final Event last = motion.getAndSet(null);
+        if (last != null)
+            append(last.id, last.x, last.y, last.code, last.when);
+        append(id, x, y, code, when);
+    }
+
+    private void append(int id, int x, int y, int code, long when) {
+        offered++;
+        final long t = tail.get();
+        if (!overflow.isEmpty() || t - head.get() > mask) {
+            // once events overflow, all later ones have to queue up behind them
+            overflow.add(new Event(id, x, y, code, when, 0));
+            return;
+        }
+        final int i = (int) t & mask;
+        ids[i] = id;
+        xs[i] = x;
+        ys[i] = y;
+        codes[i] = code;
+        times[i] = when;
+        tail.lazySet(t + 1); // publishes the slot to the consumer
+    }
+
+    /**
+     * Takes the oldest event from the queue, its values are available through the getters until the next poll.
+     * @return false if the queue is empty
+     */
+    public boolean poll() {
+        while (true) {
+            final long h = head.get();
+            if (h != tail.get()) {
+                final int i = (int) h & mask;
+                id = ids[i];
+                x = xs[i];
+                y = ys[i];
+                code = codes[i];
+                when = times[i];
+                head.lazySet(h + 1); // hands the slot back to the producer
+                polled++;
+                return true;
+            }
+            final Event event = overflow.poll();
+            if (event != null) {
+                take(event);
+                polled++;
+                return true;
+            }
+            final Event last = motion.get();
+            if (last == null) return false;
+            // otherwise older events are still on their way, or the producer just moved the motion into the ring
+            if (last.before == polled && motion.compareAndSet(last, null)) {
+                take(last);
+                return true;
+            }
+        }
+    }
+
+    private void take(Event event) {
+        id = event.id;
+        x = event.x;
+        y = event.y;
+        code = event.code;
+        when = event.when;
+    }
+
+    public int id() {
+        return id;
+    }
+
+    public int x() {
+        return x;
+    }
+
+    public int y() {
+        return y;
+    }
+
+    public int code() {
+        return code;
+    }
+
+    public long when() {
+        return when;
+    }
+
+    private static final class Event {
+
+        final int id, x, y, code;
+        final long when;
+        final long before; // the number of events offered before a motion
+
+        Event(int id, int x, int y, int code, long when, long before) {
+            this.id = id;
+            this.x = x;
+            this.y = y;
+            this.code = code;
+            this.when = when;
+            this.before = before;
+        }
+    }
+}
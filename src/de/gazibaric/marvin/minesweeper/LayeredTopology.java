@@ -0,0 +1,94 @@
+package de.gazibaric.marvin.minesweeper;
+
+// This file is part of Minesweeper, created on 18.10.2026 by (c) Marvin Gazibarić.
+// You are generally not allowed to modify, distribute or use this code,
+// when you do not have the explicit permission to do so.
+// For questions about this, refer to the LICENSE.md file probably provided with the project files.
+
+/**
+ * A three-dimensional board of stacked square layers, every cell touches the 26 cells of the cube around it.
+ * The layers are stored one after another, {@code index = (z * height + y) * width + x}, so to the rest of the engine
+ * the board looks like one tall board whose rows run through all layers.
+ */
+public final class LayeredTopology extends Topology {
+
+    private static final int[] DX = new int[26], DY = new int[26], DZ = new int[26];
+
+    static {
+        int k = 0;
+        for (int dz = -1; dz <= 1; dz++)
+            for (int dy = -1; dy <= 1; dy++)
+                for (int dx = -1; dx <= 1; dx++)
+                    if (dx != 0 || dy != 0 || dz != 0) {
+                        DX[k] = dx;
+                        DY[k] = dy;
+                        DZ[k++] = dz;
+                    }
+    }
+
+    private final int depth;
+    private final int[] offsets = new int[DX.length];
+
+    public LayeredTopology(int width, int height, int depth) {
+        super(width, height);
+        if (depth <= 0)
+            throw new IllegalArgumentException("Invalid board depth: " + depth);
+        this.depth = depth;
+        for (int k = 0; k < offsets.length; k++)
+            offsets[k] = (DZ[k] * height + DY[k]) * width + DX[k];
+    }
+
+    @Override
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * @return the layer of a cell
+     */
+    public int z(int index) {
+        return index / (width * height);
+    }
+
+    @Override
+    public int getSize() {
+        return width * height * depth;
+    }
+
+    @Override
+    public int getMaxNeighbours() {
+        return 26;
+    }
+
+    @Override
+    public int neighbours(int index, int[] out) {
+        final int x = index % width, row = index / width, y = row % height, z = row / height;
+        if (x > 0 && x < width - 1 && y > 0 && y < height - 1 && z > 0 && z < depth - 1) {
+            for (int k = 0; k < offsets.length; k++)
+                out[k] = index + offsets[k];
+            return offsets.length;
+        }
+        int count = 0;
+        for (int k = 0; k < offsets.length; k++) {
+            final int nx = x + DX[k], ny = y + DY[k], nz = z + DZ[k];
+            if (nx >= 0 && nx < width && ny >= 0 && ny < height && nz >= 0 && nz < depth)
+                out[count++] = index + offsets[k];
+        }
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return super.toString() + "x" + depth;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return super.equals(o) && depth == ((LayeredTopology) o).depth;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + depth;
+    }
+}
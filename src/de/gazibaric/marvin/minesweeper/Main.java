@@ -4,21 +4,39 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.image.BufferStrategy;
 import java.io.IOException;
+import java.util.concurrent.locks.LockSupport;
 
 public class Main extends JFrame implements Runnable {
 
     private final BufferStrategy bs;
-    private final Object renderMutex = new Object();
+    private final FrameScheduler scheduler;
+    private final QualityGovernor governor;
 
+    // owned by the logic thread
     private boolean inGame = false;
     private Minefield minefield;
     private Menu menu;
 
+    // the canvas on screen, only switched by the logic thread once the canvas has been updated at least once
+    private volatile RenderCanvas canvas;
+
     public static void main(String... args) {
         Main prog = new Main();
-        prog.menu = new Menu();
-        prog.registerListeners(prog.menu);
+        if (args.length > 0) {
+            // either a new game on any board like torus32x32-200 or 16x16x4-150,
+            // or replaying a board by its id, e.g. one taken from a bug report
+            final String[] parts = args[0].split("-");
+            prog.inGame = true;
+            prog.minefield = parts.length == 2 ? new MinefieldDefault(Topology.parse(parts[0]), Integer.parseInt(parts[1]))
+                    : new MinefieldDefault(BoardId.parse(args[0]));
+            prog.registerListeners(prog.minefield);
+        }
+        else {
+            prog.menu = new Menu();
+            prog.registerListeners(prog.menu);
+        }
 
+        new Thread(prog::simulate, "Logic").start();
         new Thread(prog).run();
 
     }
@@ -80,78 +98,120 @@ public class Main extends JFrame implements Runnable {
 
         this.createBufferStrategy(2);
         this.bs = this.getBufferStrategy();
+
+        //Render a frame whenever something happens, e.g. for the hover effects. Whatever the logic thread
+        //makes of the event gets rendered once it published the result.
+        this.scheduler = new FrameScheduler(PreferencesManager.getPreferencesManager().getFrameRate());
+        this.governor = new QualityGovernor(PreferencesManager.getPreferencesManager().getFrameRate(),
+                PreferencesManager.getPreferencesManager().isAdaptiveQuality());
+        final Runnable frameRequest = scheduler::requestFrame;
+        Toolkit.getDefaultToolkit().addAWTEventListener(e -> EventQueue.invokeLater(frameRequest),
+                AWTEvent.MOUSE_EVENT_MASK | AWTEvent.MOUSE_MOTION_EVENT_MASK | AWTEvent.MOUSE_WHEEL_EVENT_MASK
+                        | AWTEvent.KEY_EVENT_MASK | AWTEvent.COMPONENT_EVENT_MASK | AWTEvent.WINDOW_EVENT_MASK);
     }
 
+    /**
+     * The render thread: renders whatever the logic thread published last whenever a frame is due.
+     */
     public void run() {
         while (true) {
-            synchronized (this.renderMutex) {
-                do {
-                    Graphics2D gx = null;
-                    try {
-                        Point mouse = MouseInfo.getPointerInfo().getLocation();
-                        SwingUtilities.convertPointFromScreen(mouse, this);
-                        gx = (Graphics2D) this.bs.getDrawGraphics();
-                        gx.setRenderingHints(PreferencesManager.getPreferencesManager().getRenderingHints());
-                        if (inGame && minefield != null) {
-                            int res = this.minefield.update(mouse);
-                            if (minefield instanceof MinefieldDefault) {
-                                if (res == MinefieldDefault.STATE_GONNA_QUIT) {
-                                    inGame = false;
-                                    menu = new Menu();
-                                    registerListeners(menu);
-                                } else if (res == MinefieldDefault.STATE_GONNA_RETRY) {
-                                    inGame = true;
-                                    unregisterListeners(minefield);
-                                    minefield = new MinefieldDefault((MinefieldDefault) minefield);
-                                    registerListeners(minefield);
-                                }
-                            }
-                            this.minefield.render(gx, this.getWidth(), this.getHeight(), mouse);
-                        }
-                        else if (!inGame && menu != null) {
-                            int res = this.menu.update(mouse);
-                            if (res == Menu.STATE_START_GAME) {
-                                inGame = true;
-                                minefield = new MinefieldDefault(MinefieldDefault.getPresets()[menu.getPresetNr()]);
-                                unregisterListeners(menu);
-                                registerListeners(minefield);
-                            }
-                            if (res == Menu.STATE_START_HEXAGON) {
-                                inGame = true;
-                                minefield = new MinefieldHexagonal();
-                                unregisterListeners(menu);
-                                registerListeners(minefield);
-                            }
-                            else if (res == Menu.STATE_QUIT_GAME) Runtime.getRuntime().exit(0);
-                            this.menu.render(gx, this.getWidth(), this.getHeight(), mouse);
-                        }
-                        else {
-                            gx.setColor(Color.BLUE);
-                            gx.drawRect(0, 0, this.getWidth(), this.getHeight());
-                        }
-                    }
-                    finally {
-                        if (gx != null)
-                            gx.dispose();
-                    }
-                    bs.show();
-                } while (this.bs.contentsLost());
-            }
             try {
-                Thread.sleep(10);
+                scheduler.awaitFrame();
+            }
+            catch (InterruptedException e) {
+                return;
+            }
+            final RenderCanvas canvas = this.canvas;
+            if (canvas == null) continue; // the logic thread did not finish its first tick yet
+            do {
+                Graphics2D gx = null;
+                try {
+                    Point mouse = MouseInfo.getPointerInfo().getLocation();
+                    SwingUtilities.convertPointFromScreen(mouse, this);
+                    gx = (Graphics2D) this.bs.getDrawGraphics();
+                    governor.getProfile().apply(gx);
+                    final long start = System.nanoTime();
+                    canvas.render(gx, this.getWidth(), this.getHeight(), mouse);
+                    governor.frameRendered(System.nanoTime() - start);
+                    if (canvas.isAnimating())
+                        scheduler.requestFrame();
+                }
+                finally {
+                    if (gx != null)
+                        gx.dispose();
+                }
+                bs.show();
+            } while (this.bs.contentsLost());
+        }
+    }
+
+    /**
+     * The logic thread: updates the current canvas at a fixed tick rate, switches between the canvases
+     * and requests a frame whenever there is something new to render. Never waits for the render thread.
+     */
+    private void simulate() {
+        final long tickNanos = 1_000_000_000L / PreferencesManager.getPreferencesManager().getTickRate();
+        long deadline = System.nanoTime();
+        int shownVersion = 0;
+        while (true) {
+            final RenderCanvas current = inGame ? minefield : menu;
+            final int res = current.update(this.getWidth(), this.getHeight());
+            if (current == minefield) {
+                if (res == MinefieldDefault.STATE_GONNA_QUIT) {
+                    inGame = false;
+                    unregisterListeners(minefield);
+                    menu = new Menu();
+                    registerListeners(menu);
+                } else if (res == MinefieldDefault.STATE_GONNA_RETRY) {
+                    inGame = true;
+                    unregisterListeners(minefield);
+                    minefield = new MinefieldDefault((MinefieldDefault) minefield);
+                    registerListeners(minefield);
+                }
+            }
+            else {
+                if (res == Menu.STATE_START_GAME) {
+                    inGame = true;
+                    minefield = new MinefieldDefault(MinefieldDefault.getPresets()[menu.getPresetNr()]);
+                    unregisterListeners(menu);
+                    registerListeners(minefield);
+                }
+                if (res == Menu.STATE_START_HEXAGON) {
+                    inGame = true;
+                    minefield = new MinefieldHexagonal(MinefieldDefault.getPresets()[menu.getPresetNr()]);
+                    unregisterListeners(menu);
+                    registerListeners(minefield);
+                }
+                else if (res == Menu.STATE_QUIT_GAME) Runtime.getRuntime().exit(0);
+            }
+            // a new canvas is shown after its first update in the next tick
+            if (current == (inGame ? minefield : menu) && (current != canvas || current.getVersion() != shownVersion)) {
+                canvas = current;
+                shownVersion = current.getVersion();
+                scheduler.requestFrame();
+            }
+
+            long now;
+            deadline += tickNanos;
+            while ((now = System.nanoTime()) < deadline) {
+                LockSupport.parkNanos(deadline - now);
+                if (Thread.interrupted()) return;
             }
-            catch(InterruptedException ignored) {}
+            if (deadline < now - tickNanos)
+                deadline = now; // fell behind, e.g. after a long first click on a huge board, do not catch up
         }
     }
 
     private void unregisterListeners(RenderCanvas can) {
         removeMouseListener(can);
         removeMouseMotionListener(can);
+        removeMouseWheelListener(can);
         removeKeyListener(can);
     }
     private void registerListeners(RenderCanvas can) {
         addMouseListener(can);
         addMouseMotionListener(can);
+        addMouseWheelListener(can);
         addKeyListener(can);
     }
 }
@@ -27,7 +27,7 @@ public class Menu implements RenderCanvas {
     private static final int ITEM_QUIT_GAME = -2;
     private static final int ITEM_HEXAGON = 60;
 
-    private int state;
+    private volatile int state;
     private final int INT_STATE_MAIN = 0;
     private final int INT_STATE_NORMAL_SELECTION = 1;
 
@@ -45,8 +45,11 @@ public class Menu implements RenderCanvas {
     private volatile boolean nextFocused = false;
     private volatile boolean prevFocused = false;
     private volatile int presetNr = 0;
+    private boolean hexagon = false; // whether the preset selection starts a game on hexagons
 
-    private volatile boolean mousePressed = false;
+    private final InputQueue input = new InputQueue(256);
+    private int layoutWidth = -1, layoutHeight = -1;
+    private volatile int version = 0;
 
     public Menu() {
         itemNormal = new Rectangle2D.Double();
@@ -64,59 +67,114 @@ public class Menu implements RenderCanvas {
     }
 
     @Override
-    public synchronized int update(Point mouse) {
-        if (!mousePressed)
-            return STATE_DEF;
+    public int update(int renderWidth, int renderHeight) {
+        if (renderWidth != layoutWidth || renderHeight != layoutHeight)
+            layout(renderWidth, renderHeight);
+        while (input.poll()) {
+            version++;
+            if (input.id() == MouseEvent.MOUSE_MOVED) {
+                if (state == INT_STATE_NORMAL_SELECTION) {
+                    startFocused = itemStart.contains(input.x(), input.y());
+                    backFocused = itemBack.contains(input.x(), input.y());
+                }
+                continue;
+            }
+            final int res = click(input.x(), input.y());
+            if (res != STATE_DEF) return res;
+        }
+        return STATE_DEF;
+    }
 
-        mousePressed = false;
+    @Override
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Places all items for the given size. Called by the logic thread, every item is replaced by a new rectangle,
+     * so the render thread never sees a rectangle while it is changed.
+     */
+    private void layout(int renderWidth, int renderHeight) {
+        layoutWidth = renderWidth;
+        layoutHeight = renderHeight;
+
+        final int itemAspectRatio = 3;
+        final int itemHeight = renderHeight / 6, itemWidth = itemHeight * itemAspectRatio;
+        final int itemMargin = renderHeight / 12;
+
+        final int itemOffsetX = (renderWidth - itemWidth) / 2, itemOffsetY = (renderHeight - itemHeight * 3 - itemMargin * 2) / 2;
+
+        itemNormal = new Rectangle2D.Double(itemOffsetX, itemOffsetY,
+                itemWidth, itemHeight);
+        itemHexagon = new Rectangle2D.Double(itemOffsetX, itemOffsetY + itemHeight + itemMargin,
+                itemWidth, itemHeight);
+        //itemPref = new Rectangle2D.Double(itemOffsetX, itemOffsetY + itemHeight * 2 + itemMargin * 2,
+        //        itemWidth, itemHeight);
+        itemQuitGame = new Rectangle2D.Double(itemOffsetX, itemOffsetY + itemHeight * 2 + itemMargin * 2,
+                itemWidth, itemHeight);
+
+        final float aspectRatio = 1.5f;
+        final int chooserWidth = renderWidth / 2, chooserHeight = (int) (chooserWidth / aspectRatio);
+        final int buttonWidth = renderWidth / 5, buttonHeight = buttonWidth / 2;
+        final int buttonMargin = renderWidth / 8;
+        final int arrowSize = renderWidth / 10;
+
+        itemChooseDifficulty = new Rectangle2D.Double(renderWidth / 2 - chooserWidth / 2,
+                renderHeight / 3 - chooserHeight / 2, chooserWidth, chooserHeight);
+
+        itemBack = new Rectangle2D.Double(renderWidth / 2 - buttonMargin - buttonWidth,
+                renderHeight / 2  + buttonMargin, buttonWidth, buttonHeight);
+        itemStart = new Rectangle2D.Double(renderWidth / 2 + buttonMargin,
+                renderHeight / 2 + buttonMargin, buttonWidth, buttonHeight);
+        itemNext = new Rectangle2D.Double(renderWidth / 2 + chooserWidth / 2,
+                renderHeight / 3 - chooserHeight / 4, arrowSize, arrowSize);
+        itemPrev = new Rectangle2D.Double(renderWidth / 2 - chooserWidth / 2 - arrowSize,
+                renderHeight / 3 - chooserHeight / 4, arrowSize, arrowSize);
+    }
+
+    private int click(int x, int y) {
         if (state == INT_STATE_MAIN) {
-            if (itemNormal.contains(mouse)) {
+            if (itemNormal.contains(x, y)) {
+                hexagon = false;
                 state = INT_STATE_NORMAL_SELECTION;
                 return STATE_DEF;
             }
-            if (itemQuitGame.contains(mouse))
+            if (itemQuitGame.contains(x, y))
                 return STATE_QUIT_GAME;
-            //if (itemPref.contains(mouse))
+            //if (itemPref.contains(x, y))
             //    return STATE_OPEN_PREFERENCES;
-            if (itemHexagon.contains(mouse))
-                return STATE_DEF;//STATE_START_HEXAGON;
+            if (itemHexagon.contains(x, y)) {
+                hexagon = true;
+                state = INT_STATE_NORMAL_SELECTION;
+                return STATE_DEF;
+            }
         }
         else if (state == INT_STATE_NORMAL_SELECTION) {
-            if (itemStart.contains(mouse))
-                return STATE_START_GAME;
-            if (itemBack.contains(mouse)) {
+            if (itemStart.contains(x, y))
+                return hexagon ? STATE_START_HEXAGON : STATE_START_GAME;
+            if (itemBack.contains(x, y)) {
                 state = INT_STATE_MAIN;
                 return STATE_DEF;
             }
-            if (itemPrev.contains(mouse) && presetNr > 0)
+            if (itemPrev.contains(x, y) && presetNr > 0)
                 presetNr--;
-            if (itemNext.contains(mouse) && presetNr < MinefieldDefault.getPresets().length - 1)
+            if (itemNext.contains(x, y) && presetNr < MinefieldDefault.getPresets().length - 1)
                 presetNr++;
         }
         return STATE_DEF;
     }
 
     @Override
-    public synchronized void render(Graphics2D gx, int renderWidth, int renderHeight, Point mouse) {
+    public void render(Graphics2D gx, int renderWidth, int renderHeight, Point mouse) {
         gx.setColor(GameResources.getResources().getColorResource(GameResources.COLOR_BG));
         gx.fillRect(0, 0, renderWidth, renderHeight);
 
+        final int state = this.state;
         if (state == INT_STATE_MAIN) {
             final int itemAspectRatio = 3;
             final int itemHeight = renderHeight / 6, itemWidth = itemHeight * itemAspectRatio;
-            final int itemMargin = renderHeight / 12;
             final int mouseScale = itemWidth / 25;
-
-            final int itemOffsetX = (renderWidth - itemWidth) / 2, itemOffsetY = (renderHeight - itemHeight * 3 - itemMargin * 2) / 2;
-
-            itemNormal.setRect(itemOffsetX, itemOffsetY,
-                    itemWidth, itemHeight);
-            itemHexagon.setRect(itemOffsetX, itemOffsetY + itemHeight + itemMargin,
-                    itemWidth, itemHeight);
-            //itemPref.setRect(itemOffsetX, itemOffsetY + itemHeight * 2 + itemMargin * 2,
-            //        itemWidth, itemHeight);
-            itemQuitGame.setRect(itemOffsetX, itemOffsetY + itemHeight * 2 + itemMargin * 2,
-                    itemWidth, itemHeight);
+            final Rectangle2D itemNormal = this.itemNormal, itemHexagon = this.itemHexagon, itemQuitGame = this.itemQuitGame;
 
             if (itemNormal.contains(mouse))
                 this.drawItem(ITEM_NORMAL, gx, new Rectangle2D.Double(
@@ -124,11 +182,11 @@ public class Menu implements RenderCanvas {
                         itemNormal.getWidth() + 2 * mouseScale, itemNormal.getHeight() + 2 * mouseScale));
             else this.drawItem(ITEM_NORMAL, gx, itemNormal);
 
-            //if (itemHexagon.contains(mouse))
-            //    this.drawItem(ITEM_HEXAGON, gx, new Rectangle2D.Double(
-            //            itemHexagon.getX() - mouseScale, itemHexagon.getY() - mouseScale,
-            //            itemHexagon.getWidth() + 2 * mouseScale, itemHexagon.getHeight() + 2 * mouseScale));
-            /*else*/ this.drawItem(ITEM_HEXAGON, gx, itemHexagon);
+            if (itemHexagon.contains(mouse))
+                this.drawItem(ITEM_HEXAGON, gx, new Rectangle2D.Double(
+                        itemHexagon.getX() - mouseScale, itemHexagon.getY() - mouseScale,
+                        itemHexagon.getWidth() + 2 * mouseScale, itemHexagon.getHeight() + 2 * mouseScale));
+            else this.drawItem(ITEM_HEXAGON, gx, itemHexagon);
 
             /*if (itemPref.contains(mouse))
                 this.drawItem(ITEM_PREFERENCES, gx, new Rectangle2D.Double(
@@ -145,24 +203,10 @@ public class Menu implements RenderCanvas {
                 this.drawItem(ITEM_QUIT_GAME, gx, itemQuitGame);
         }
         if (state == INT_STATE_NORMAL_SELECTION) {
-            final float aspectRatio = 1.5f;
-            final int chooserWidth = renderWidth / 2, chooserHeight = (int) (chooserWidth / aspectRatio);
-            final int buttonWidth = renderWidth / 5, buttonHeight = buttonWidth / 2;
-            final int buttonMargin = renderWidth / 8;
             final int arrowSize = renderWidth / 10;
             final int mouseScale = arrowSize / 25;
-
-            itemChooseDifficulty.setRect(renderWidth / 2 - chooserWidth / 2,
-                    renderHeight / 3 - chooserHeight / 2, chooserWidth, chooserHeight);
-
-            itemBack.setRect(renderWidth / 2 - buttonMargin - buttonWidth,
-                    renderHeight / 2  + buttonMargin, buttonWidth, buttonHeight);
-            itemStart.setRect(renderWidth / 2 + buttonMargin,
-                    renderHeight / 2 + buttonMargin, buttonWidth, buttonHeight);
-            itemNext.setRect(renderWidth / 2 + chooserWidth / 2,
-                    renderHeight / 3 - chooserHeight / 4, arrowSize, arrowSize);
-            itemPrev.setRect(renderWidth / 2 - chooserWidth / 2 - arrowSize,
-                    renderHeight / 3 - chooserHeight / 4, arrowSize, arrowSize);
+            final int presetNr = this.presetNr;
+            final Rectangle2D itemNext = this.itemNext, itemPrev = this.itemPrev;
 
             drawItem(ITEM_NORMAL_SELECT_DIFFICULTY, gx, itemChooseDifficulty);
             drawItem(ITEM_NORMAL_START, gx, itemStart);
@@ -208,7 +252,7 @@ public class Menu implements RenderCanvas {
             final int margin = 0;//(int) (rectW * 0.25);
             final int offset = 0;//(height - 2 * rectW - margin) / 2;
 
-            gx.setColor(Color.GRAY);
+            gx.setColor(GameResources.getResources().getColorResource(GameResources.COLOR_ACC));
             final String s = GameResources.getResources().getStringResource(GameResources.STRING_MENU_HEXAGON);
             gx.setFont(PreferencesManager.getPreferencesManager().getFont().deriveFont(Font.BOLD, 12));
             final double ratio = (rect.getWidth() - 2 * rectW - 2 * margin) /
@@ -271,8 +315,7 @@ public class Menu implements RenderCanvas {
                     (float) (rect.getY() + rect.getHeight() / 2 - gx.getFontMetrics().getStringBounds(sRef, gx).getCenterY()));
         }
         else if (itemNr == ITEM_NORMAL_SELECT_DIFFICULTY) {
-            presetNr %= MinefieldDefault.getPresets().length;
-            MinefieldDefault.Preset preset = MinefieldDefault.getPresets()[presetNr];
+            MinefieldDefault.Preset preset = MinefieldDefault.getPresets()[presetNr % MinefieldDefault.getPresets().length];
 
             gx.setColor(GameResources.getResources().getColorResource(GameResources.COLOR_ACC));
             String s = preset.name;
@@ -311,21 +354,18 @@ public class Menu implements RenderCanvas {
         }
     }
 
-    public synchronized int getPresetNr() {
+    public int getPresetNr() {
         return presetNr;
     }
 
     @Override
-    public synchronized void mouseClicked(MouseEvent e) {
+    public void mouseClicked(MouseEvent e) {
         if (e.getButton() == MouseEvent.BUTTON1)
-            mousePressed = true;
+            input.offer(e.getID(), e.getX(), e.getY(), e.getButton(), e.getWhen());
     }
 
     @Override
     public void mouseMoved(MouseEvent e) {
-        if (state == INT_STATE_NORMAL_SELECTION) {
-            startFocused = itemStart.contains(e.getPoint());
-            backFocused = itemBack.contains(e.getPoint());
-        }
+        input.offer(e.getID(), e.getX(), e.getY(), e.getButton(), e.getWhen());
     }
 }
@@ -0,0 +1,86 @@
+package de.gazibaric.marvin.minesweeper;
+
+// This file is part of Minesweeper, created on 18.10.2026 by (c) Marvin Gazibarić.
+// You are generally not allowed to modify, distribute or use this code,
+// when you do not have the explicit permission to do so.
+// For questions about this, refer to the LICENSE.md file probably provided with the project files.
+
+import java.util.Random;
+
+/**
+ * Spreads mines over a {@link Board}, keeping the first click and its neighbours free.
+ * Samples on a bitset of the cell indices, so no list of candidate cells is ever built.
+ */
+public final class MinePlacer {
+
+    private MinePlacer() {}
+
+    /**
+     * Places {@code mineCount} mines uniformly at random on all cells except {@code firstClick} and its neighbours.
+     * Up to half of the free cells are drawn as mines by rejection sampling. Denser boards are mined completely
+     * and the safe cells are drawn instead, so every draw succeeds with a probability of at least one half.
+     * @param rng source of randomness, pass a seeded instance to get reproducible boards
+     */
+    public static void place(Board board, int firstClick, int mineCount, Random rng) {
+        final int[] excluded = new int[board.getTopology().getMaxNeighbours() + 1];
+        final int excludedCount = excludedArea(board, firstClick, excluded);
+        final int candidates = board.getSize() - excludedCount;
+        if (mineCount < 0 || mineCount > candidates)
+            throw new IllegalArgumentException("Too many mines: " + mineCount + " for " + candidates + " free cells");
+
+        // draw into a plain bitset first, the board then gets mined in a single ascending pass
+        final long[] bits = new long[(board.getSize() + 63) >>> 6];
+        final boolean inverted = mineCount > candidates / 2;
+        if (inverted)
+            for (int r = 0; r < candidates; r++)
+                set(bits, candidate(r, excluded, excludedCount));
+
+        for (int m = inverted ? candidates - mineCount : mineCount; m > 0; ) {
+            final int index = candidate(rng.nextInt(candidates), excluded, excludedCount);
+            if (isSet(bits, index) != inverted) continue;
+            flip(bits, index);
+            m--;
+        }
+        board.setMines(bits);
+    }
+
+    private static boolean isSet(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private static void set(long[] bits, int index) {
+        bits[index >>> 6] |= 1L << index;
+    }
+
+    private static void flip(long[] bits, int index) {
+        bits[index >>> 6] ^= 1L << index;
+    }
+
+    /**
+     * Writes {@code index} and the indices of its neighbours into {@code out}, in ascending order.
+     * @return the number of indices written
+     */
+    private static int excludedArea(Board board, int index, int[] out) {
+        final int n = board.neighbours(index, out) + 1;
+        out[n - 1] = index;
+        // insertion sort, there are only a handful of neighbours
+        for (int i = 1; i < n; i++) {
+            final int v = out[i];
+            int j = i - 1;
+            for (; j >= 0 && out[j] > v; j--)
+                out[j + 1] = out[j];
+            out[j + 1] = v;
+        }
+        return n;
+    }
+
+    /**
+     * Maps the {@code r}-th free cell to its board index by skipping over the sorted excluded indices.
+     */
+    private static int candidate(int r, int[] excluded, int excludedCount) {
+        int index = r;
+        for (int e = 0; e < excludedCount && excluded[e] <= index; e++)
+            index++;
+        return index;
+    }
+}
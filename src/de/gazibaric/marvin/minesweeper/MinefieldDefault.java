@@ -8,10 +8,10 @@ package de.gazibaric.marvin.minesweeper;
 import java.awt.*;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
 import java.awt.geom.Rectangle2D;
-import java.util.List;
-import java.util.Random;
-import java.util.Vector;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class MinefieldDefault implements Minefield {
 
@@ -27,399 +27,559 @@ public class MinefieldDefault implements Minefield {
             new Preset("Extreme", 32, 32, 270),
             new Preset("Insane", 50, 50, 750) };
 
-    private Field[][] fields;
-    private Rectangle2D[][] rects;
-
+    private static final float ZOOM_STEP = 1.25f; // per notch of the mouse wheel
+    private static final int MIN_CELL_DISTANCE = 8; // huge boards start zoomed in so that cells are at least this far apart
+    private static final int DRAG_THRESHOLD = 4; // pixels the mouse has to move before a press becomes a drag
+    private static final int BOTH_BUTTONS = 1 << MouseEvent.BUTTON1 | 1 << MouseEvent.BUTTON3;
+    private static final int OVERVIEW_CELL_SIZE = 4; // smaller cells are drawn as a raster of one pixel per cell
+
+    // owned by the logic thread
+    private final Game game;
+    private final Board board;
+    private final BoardGeometry inputGeometry;
+    private int layoutWidth = -1, layoutHeight = -1;
     private Rectangle2D retryRect;
     private Rectangle2D quitRect;
+    private Rectangle2D minimapRect;
 
-    private final int width, height, mineCount;
-    private boolean mouseClicked = false;
-    private boolean mouseRightClicked = false;
-    private boolean escClicked = false;
-    private boolean minesSpread = false;
-    private boolean gameOver = false; // does NOT actually mean that you have lost. The game has simply ended.
-    private boolean win = false;
+    private final boolean replay; // whether retrying brings up the very same board again
+    private final InputQueue input = new InputQueue(256);
     private boolean paused = false;
-
-    private String sndLine;
+    private int slice = 0; // the layer shown of a three-dimensional board
     private boolean focused1st = false;
     private boolean focused2nd = false;
+    private float zoom = 1, maxZoom = 1, panX = 0, panY = 0; // the camera, see BoardGeometry#setView
+    private boolean pressed = false, dragging = false;
+    private int pressX, pressY, dragX, dragY;
+    private int buttonsDown = 0; // one bit per mouse button held
+    private boolean chording = false; // whether the release of the button still held belongs to a chord
+
+    // handed over from the logic thread to the render thread
+    private volatile Snapshot snapshot;
+    private volatile int version = 0;
+
+    // owned by the render thread, the retained board layer only gets the changed cells and the hover redrawn each frame,
+    // full redraws are spread over all cores in tiles
+    private final BoardGeometry geometry;
+    private final GlyphAtlas glyphs;
+    private BoardRaster raster; // allocated the first time the overview or the minimap is drawn
+    private final TileRenderer tiles = new TileRenderer();
+    private final Rectangle2D rasterArea = new Rectangle2D.Double();
+    private BufferedImage layer;
+    private Graphics2D layerGx;
+    private GameResources.Theme layerTheme;
+    private RenderProfile layerProfile;
+    private Snapshot layerSnapshot;
+    private final Rectangle visible = new Rectangle();
+    private int layerHovered = BoardGeometry.OUTSIDE;
+    private final OverlayScreen pausedScreen = new OverlayScreen(GameResources.STRING_PAUSED,
+            GameResources.STRING_ESC_TO_RESUME, GameResources.STRING_RESTART, 3);
+    private final OverlayScreen lostScreen = new OverlayScreen(GameResources.STRING_GAME_OVER,
+            GameResources.STRING_GAME_OVER_2ND, GameResources.STRING_RETRY, 2);
+    private final OverlayScreen wonScreen = new OverlayScreen(GameResources.STRING_YOU_WON,
+            GameResources.STRING_YOU_WON_2ND, GameResources.STRING_RETRY, 3);
+    private Snapshot overlayBoard; // the snapshot the board under the shown screen is from
 
     public MinefieldDefault(MinefieldDefault old) {
-        this(old.width, old.height, old.mineCount);
+        this(old.replay && old.game.getBoardId() != null ? new Game(old.game.getBoardId()) :
+                new Game(old.board.getTopology(), old.game.getMineCount(),
+                        old.replay ? old.game.getSeed() : ThreadLocalRandom.current().nextLong()), old.replay);
     }
 
     public MinefieldDefault(Preset preset) {
-        this(preset.width, preset.height, preset.mineCount);
-    }
-
-    private MinefieldDefault(int width, int height, int mineCount) {
-        this.width = width;
-        this.height = height;
-        this.mineCount = mineCount;
-        this.fields = new Field[width][height];
-        this.rects = new Rectangle2D.Double[width][height];
-        for (int x = 0; x < width; x++) {
-            for (int y = 0; y < height; y++) {
-                fields[x][y] = new Field();
-                rects[x][y] = new Rectangle2D.Double();
+        this(preset, new SquareTopology(preset.width, preset.height));
+    }
+
+    protected MinefieldDefault(Preset preset, Topology topology) {
+        this(new Game(topology, preset.mineCount,
+                preset.seed != null ? preset.seed : ThreadLocalRandom.current().nextLong()), preset.seed != null);
+    }
+
+    /**
+     * Starts a new game on any kind of board, e.g. a torus or a three-dimensional one.
+     */
+    public MinefieldDefault(Topology topology, int mineCount) {
+        this(new Game(topology, mineCount, ThreadLocalRandom.current().nextLong()), false);
+    }
+
+    /**
+     * Replays the board with the given id, the mines are already spread.
+     */
+    public MinefieldDefault(BoardId id) {
+        this(new Game(id), true);
+    }
+
+    private MinefieldDefault(Game game, boolean replay) {
+        this.game = game;
+        this.board = game.getBoard();
+        this.replay = replay;
+        this.inputGeometry = BoardGeometry.of(board.getTopology());
+        this.geometry = BoardGeometry.of(board.getTopology());
+        this.glyphs = new GlyphAtlas(board.getTopology().getMaxNeighbours());
+        this.retryRect = new Rectangle2D.Double();
+        this.quitRect = new Rectangle2D.Double();
+        publish();
+    }
+
+    @Override
+    public int update(final int renderWidth, final int renderHeight) {
+        if (renderWidth != layoutWidth || renderHeight != layoutHeight) {
+            final boolean first = layoutWidth < 0;
+            layoutWidth = renderWidth;
+            layoutHeight = renderHeight;
+            inputGeometry.setView(1, 0, 0);
+            inputGeometry.layout(renderWidth, renderHeight);
+            // the distance between two cells with the whole board on screen
+            final float fit = inputGeometry.getScale() * 6;
+            if (fit > 0) {
+                maxZoom = Math.max(1, renderHeight / 4f / fit);
+                if (first)
+                    zoom = Math.min(maxZoom, Math.max(1, MIN_CELL_DISTANCE / fit));
+                zoom = Math.min(zoom, maxZoom);
             }
+            applyView();
+            retryRect = OverlayScreen.button(renderWidth, renderHeight, false);
+            quitRect = OverlayScreen.button(renderWidth, renderHeight, true);
+            minimapRect = minimapArea(renderWidth, renderHeight, board.getWidth(), board.getHeight());
         }
-        for (int x = 0; x < width; x++) {
-            for (int y = 0; y < height; y++) {
-                if (x > 0)
-                    fields[x][y].addAdjacent(fields[x - 1][y]);
-                if (x > 0 && y < height - 1)
-                    fields[x][y].addAdjacent(fields[x - 1][y + 1]);
-                if (y < height - 1)
-                    fields[x][y].addAdjacent(fields[x][y + 1]);
-                if (x < width - 1 && y < height - 1)
-                    fields[x][y].addAdjacent(fields[x + 1][y + 1]);
-                if (x < width - 1)
-                    fields[x][y].addAdjacent(fields[x + 1][y]);
-                if (x < width - 1 && y > 0)
-                    fields[x][y].addAdjacent(fields[x + 1][y - 1]);
-                if (y > 0)
-                    fields[x][y].addAdjacent(fields[x][y - 1]);
-                if (x > 0 && y > 0)
-                    fields[x][y].addAdjacent(fields[x - 1][y - 1]);
-            }
+        while (input.poll()) {
+            final int res = handleInput(input.id(), input.x(), input.y(), input.code());
+            if (res != STATE_IN_GAME) return res;
         }
-        this.retryRect = new Rectangle2D.Double();
-        this.quitRect = new Rectangle2D.Double();
+        publish();
+        return STATE_IN_GAME;
     }
 
     @Override
-    public synchronized int update(Point mouse) {
-        if (!mouseClicked && !mouseRightClicked && !escClicked) return STATE_IN_GAME;
-        if (escClicked && !gameOver) {
-            escClicked = false;
-            paused = !paused;
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Hands the state of this tick over to the renderer. The board is only copied if any cell changed.
+     */
+    private void publish() {
+        final Snapshot last = snapshot;
+        final BoardSnapshot cells = last == null || board.getChangeCount() > 0 ? board.snapshot() : last.board;
+        if (last != null && cells == last.board && last.state == game.state() && last.paused == paused
+                && last.slice == slice && last.zoom == zoom && last.panX == panX && last.panY == panY
+                && last.focused1st == focused1st && last.focused2nd == focused2nd)
+            return;
+        snapshot = new Snapshot(cells, game.state(), paused, slice, zoom, panX, panY, focused1st, focused2nd);
+        version++;
+    }
+
+    /**
+     * Keeps the edges of the area the board was fitted into from moving into the screen, then lays out the board
+     * for hit testing. The renderer applies the published view itself.
+     */
+    private void applyView() {
+        final float limitX = (zoom - 1) * layoutWidth / 2, limitY = (zoom - 1) * layoutHeight / 2;
+        panX = Math.max(-limitX, Math.min(limitX, panX));
+        panY = Math.max(-limitY, Math.min(limitY, panY));
+        inputGeometry.setView(zoom, panX, panY);
+        inputGeometry.layout(layoutWidth, layoutHeight);
+    }
+
+    /**
+     * Zooms in or out by the given number of wheel notches, the point under the mouse stays where it is.
+     */
+    private void zoomAt(final int px, final int py, final int notches) {
+        final float newZoom = Math.max(1, Math.min(maxZoom, zoom * (float) Math.pow(ZOOM_STEP, -notches)));
+        if (newZoom == zoom) return;
+        final float cx = px - layoutWidth / 2f, cy = py - layoutHeight / 2f;
+        panX = cx - (cx - panX) * newZoom / zoom;
+        panY = cy - (cy - panY) * newZoom / zoom;
+        zoom = newZoom;
+        applyView();
+    }
+
+    /**
+     * @return whether the minimap is on screen, it is while zoomed in unless the board is drawn as an overview anyway
+     */
+    private boolean showsMinimap() {
+        return zoom > 1 && inputGeometry.cellSize() >= OVERVIEW_CELL_SIZE;
+    }
+
+    /**
+     * Moves the camera to the cell under the given point of the minimap.
+     */
+    private void centerOn(final int px, final int py) {
+        final int col = Math.min(board.getWidth() - 1,
+                (int) ((px - minimapRect.getX()) / minimapRect.getWidth() * board.getWidth()));
+        final int row = Math.min(board.getHeight() - 1,
+                (int) ((py - minimapRect.getY()) / minimapRect.getHeight() * board.getHeight()));
+        final int index = inputGeometry.cellIndex(Math.max(0, col), Math.max(0, row));
+        panX += layoutWidth / 2f - (inputGeometry.cellX(index) + inputGeometry.cellSize() / 2f);
+        panY += layoutHeight / 2f - (inputGeometry.cellY(index) + inputGeometry.cellSize() / 2f);
+        applyView();
+    }
+
+    /**
+     * Handles a single input event at the position it happened at.
+     */
+    private int handleInput(final int id, final int px, final int py, final int code) {
+        if (id == KeyEvent.KEY_PRESSED) {
+            if (code == KeyEvent.VK_ESCAPE && !game.isOver())
+                paused = !paused;
+            else if ((code == KeyEvent.VK_PAGE_UP || code == KeyEvent.VK_PAGE_DOWN) && !paused) {
+                slice = Math.max(0, Math.min(inputGeometry.getSliceCount() - 1,
+                        slice + (code == KeyEvent.VK_PAGE_UP ? 1 : -1)));
+                inputGeometry.showSlice(slice);
+            }
+            return STATE_IN_GAME;
+        }
+        if (id == MouseEvent.MOUSE_MOVED) {
+            focused1st = retryRect.contains(px, py);
+            focused2nd = quitRect.contains(px, py);
+            return STATE_IN_GAME;
+        }
+        if (id == MouseEvent.MOUSE_WHEEL) {
+            if (!game.isOver() && !paused)
+                zoomAt(px, py, code);
+            return STATE_IN_GAME;
+        }
+        if (id == MouseEvent.MOUSE_PRESSED) {
+            buttonsDown |= 1 << code;
+            pressed = !game.isOver() && !paused && !(showsMinimap() && minimapRect.contains(px, py));
+            dragging = false;
+            pressX = dragX = px;
+            pressY = dragY = py;
+            return STATE_IN_GAME;
+        }
+        if (id == MouseEvent.MOUSE_DRAGGED) {
+            if (!pressed) return STATE_IN_GAME;
+            // dragging only pans a zoomed board, otherwise it stays a click wherever the mouse is released
+            if (!dragging && zoom > 1 && Math.abs(px - pressX) + Math.abs(py - pressY) > DRAG_THRESHOLD)
+                dragging = true;
+            if (dragging) {
+                panX += px - dragX;
+                panY += py - dragY;
+                applyView();
+            }
+            dragX = px;
+            dragY = py;
             return STATE_IN_GAME;
         }
-        escClicked = false;
-        if (mouseRightClicked && !gameOver && !paused) {
-            mouseRightClicked = false;
-            for (int x = 0; x < width; x++)
-                for (int y = 0; y < height; y++)
-                    if (rects[x][y].contains(mouse))
-                        fields[x][y].toggleMarked();
+        if (id != MouseEvent.MOUSE_RELEASED)
+            return STATE_IN_GAME;
+        // the middle button chords, as does releasing either of the left and right buttons while both are held
+        final boolean chord = code == MouseEvent.BUTTON2 || (buttonsDown & BOTH_BUTTONS) == BOTH_BUTTONS;
+        buttonsDown &= ~(1 << code);
+        if (chording) {
+            chording = buttonsDown != 0;
+            return STATE_IN_GAME;
+        }
+        if (chord)
+            chording = buttonsDown != 0;
+        else if (code != MouseEvent.BUTTON1 && code != MouseEvent.BUTTON3)
+            return STATE_IN_GAME;
+        pressed = false;
+        if (dragging) {
+            dragging = false;
             return STATE_IN_GAME;
         }
-        mouseClicked = false;
-        mouseRightClicked = false;
 
-        if (gameOver || paused) {
-            if (focused1st) return STATE_GONNA_RETRY;
-            if (focused2nd) return STATE_GONNA_QUIT;
+        if (game.isOver() || paused) {
+            if (retryRect.contains(px, py)) return STATE_GONNA_RETRY;
+            if (quitRect.contains(px, py)) return STATE_GONNA_QUIT;
             else return STATE_IN_GAME;
         }
-        for (int x = 0; x < width; x++) {
-            for (int y = 0; y < height; y++) {
-                if (rects[x][y].contains(mouse)) {
-                    if (fields[x][y].isMarked()) {
-                        fields[x][y].toggleMarked();
-                        continue;
-                    }
-                    if (!minesSpread)
-                        spreadMines(x, y);
-                    if (fields[x][y].reveal()) {
-                        gameOver = true;
-                        win = false;
-                        for (int i = 0; i < width; i++)
-                            for (int j = 0; j < height; j++)
-                                if (fields[i][j].isMine())
-                                    fields[i][j].reveal();
-                    }
-                    else {
-                        boolean done = true;
-                        for (int i = 0; i < width; i++)
-                            for (int j = 0; j < height; j++)
-                                if (!fields[i][j].isMine() && !fields[i][j].isRevealed())
-                                    done = false;
-                        if (done) {
-                            win = true;
-                            gameOver = true;
-                        }
-                    }
-                }
-            }
+        if (showsMinimap() && minimapRect.contains(px, py)) {
+            centerOn(px, py);
+            return STATE_IN_GAME;
+        }
+        final int index = inputGeometry.cellAt(px, py);
+        if (index == BoardGeometry.OUTSIDE)
+            return STATE_IN_GAME;
+        final int x = board.x(index), y = board.y(index);
+        if (chord) {
+            game.chord(x, y);
+            return STATE_IN_GAME;
         }
+        if (code == MouseEvent.BUTTON3 || board.isFlagged(index)) {
+            game.toggleFlag(x, y);
+            return STATE_IN_GAME;
+        }
+        final boolean first = game.state() == Game.State.READY;
+        game.reveal(x, y);
+        if (first)
+            System.out.println("Board: " + game.getBoardId());
 
         return STATE_IN_GAME;
     }
 
     @Override
-    public synchronized void render(final Graphics2D gx, final int renderWidth, final int renderHeight, final Point mouse) {
-        gx.setColor(GameResources.getResources().getColorResource(GameResources.COLOR_BG));
-        gx.fillRect(0, 0, renderWidth, renderHeight);
+    public void render(final Graphics2D gx, final int renderWidth, final int renderHeight, final Point mouse) {
+        final Snapshot snapshot = this.snapshot;
+        final OverlayScreen overlay = snapshot.paused ? pausedScreen : snapshot.state == Game.State.LOST ? lostScreen :
+                snapshot.state == Game.State.WON ? wonScreen : null;
+        if (overlay == null) {
+            renderBoard(gx, renderWidth, renderHeight, snapshot, mouse);
+            overlayBoard = null;
+            return;
+        }
+        // the board only changes under the screen when the game just ended or the slice got switched
+        final boolean stale = overlayBoard == null || overlayBoard.board != snapshot.board
+                || overlayBoard.slice != snapshot.slice;
+        overlay.draw(gx, renderWidth, renderHeight, backdropGx -> renderBoard(backdropGx, renderWidth, renderHeight, snapshot, mouse),
+                stale, snapshot.focused1st, snapshot.focused2nd);
+        overlayBoard = snapshot;
+    }
 
+    /**
+     * Draws the board and everything on it, without any of the screens laid over it.
+     */
+    private void renderBoard(final Graphics2D gx, final int renderWidth, final int renderHeight,
+                             final Snapshot snapshot, final Point mouse) {
+        final BoardSnapshot cells = snapshot.board;
         //Unterteilung der Fläche in ein Raster zur gleichmäßigen Anordnung aller Quadrate
-        final int p;
-        final float s, xoffset, yoffset;
-
-        if ((float) renderWidth / width > (float) renderHeight / height) {
-            p = height * 6 + 3;
-            s = (float) renderHeight / p;
-            xoffset = (renderWidth - s * p) / 2;
-            yoffset = 0;
+        geometry.showSlice(snapshot.slice);
+        geometry.setView(snapshot.zoom, snapshot.panX, snapshot.panY);
+        geometry.layout(renderWidth, renderHeight);
+        final boolean over = snapshot.state == Game.State.WON || snapshot.state == Game.State.LOST;
+
+        if (geometry.cellSize() < OVERVIEW_CELL_SIZE) {
+            // too small for glyphs, the whole board is a single scaled image
+            final BoardRaster raster = raster();
+            raster.validate(cells, snapshot.slice);
+            gx.setColor(GameResources.getResources().getColorResource(GameResources.COLOR_BG));
+            gx.fillRect(0, 0, renderWidth, renderHeight);
+            geometry.rasterBounds(rasterArea);
+            raster.draw(gx, rasterArea);
+            layerSnapshot = null;
         }
-        else {
-            p = width * 6 + 3;
-            s = (float) renderWidth / p;
-            xoffset = 0;
-            yoffset = (renderHeight - s * p) / 2;
+        else
+            renderLayer(gx, renderWidth, renderHeight, snapshot,
+                    over || snapshot.paused ? BoardGeometry.OUTSIDE : geometry.cellAt(mouse.x, mouse.y));
+
+        if (geometry.getSliceCount() > 1) {
+            final String sliceString = (snapshot.slice + 1) + " / " + geometry.getSliceCount();
+            gx.setColor(GameResources.getResources().getColorResource(GameResources.COLOR_FG));
+            gx.setFont(PreferencesManager.getPreferencesManager().getFont().deriveFont(Font.BOLD, renderHeight / 20f));
+            gx.drawString(sliceString, renderHeight / 40f, renderHeight / 40f - (float) gx.getFontMetrics().
+                    getStringBounds(sliceString, gx).getY());
         }
+    }
 
-        final float mouseScale = s / 25;
+    /**
+     * @return the area of the minimap in the lower right corner, at most a fifth of the render height in size
+     */
+    private static Rectangle2D minimapArea(final int renderWidth, final int renderHeight, final int columns, final int rows) {
+        final double cell = renderHeight / 5.0 / Math.max(columns, rows), margin = renderHeight / 40.0;
+        return new Rectangle2D.Double(renderWidth - margin - columns * cell, renderHeight - margin - rows * cell,
+                columns * cell, rows * cell);
+    }
 
-        gx.setColor(GameResources.getResources().getColorResource(GameResources.COLOR_ACC));
-        for (int y = 0; y < height; y++)
-            for (int x = 0; x < width; x++)
-                rects[x][y].setRect((int) (xoffset + x * s * 6 + s * 2),
-                        (int) (yoffset + y * s * 6 + s * 2), (int) (s * 5), (int) (s * 5));
-
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                gx.setColor(GameResources.getResources().getColorResource(GameResources.COLOR_ACC));
-                if (!fields[x][y].isRevealed() && rects[x][y].contains(mouse) && !fields[x][y].isMarked() && !gameOver && !paused)
-                    gx.fillRect((int) (rects[x][y].getX() - mouseScale), (int) (rects[x][y].getY() - mouseScale),
-                            (int) (rects[x][y].getWidth() - mouseScale), (int) (rects[x][y].getHeight() - mouseScale));
-                else if (!fields[x][y].isRevealed()) {
-                    gx.fill(rects[x][y]);
-                    if (fields[x][y].isMarked()) {
-                        gx.setColor(GameResources.getResources().getColorResource(GameResources.COLOR_BG));
-                        gx.setFont(PreferencesManager.getPreferencesManager().getFont().deriveFont(Font.BOLD, 12));
-                        final double ratio = rects[x][y].getWidth() /
-                                gx.getFontMetrics().getStringBounds("X", gx).getWidth() / 2;
-                        gx.setFont(gx.getFont().deriveFont(12 * (float) ratio));
-                        gx.drawString("X", (float) (rects[x][y].getX() + rects[x][y].getWidth() / 2 -
-                                        gx.getFontMetrics().getStringBounds("X", gx).getCenterX()),
-                                (float) (rects[x][y].getY() + rects[x][y].getHeight() / 2 -
-                                        gx.getFontMetrics().getStringBounds("X", gx).getCenterY()));
+    /**
+     * Updates the retained layer with whatever changed since the last frame and draws it, with the minimap on top
+     * while zoomed in.
+     */
+    private void renderLayer(final Graphics2D gx, final int renderWidth, final int renderHeight,
+                             final Snapshot snapshot, final int hovered) {
+        final BoardSnapshot cells = snapshot.board;
+        glyphs.validate(geometry.cellSize());
+        geometry.visibleCells(visible);
+        if (layer == null || layerSnapshot == null || layer.getWidth() != renderWidth || layer.getHeight() != renderHeight
+                || layerTheme != GameResources.getResources().getTheme()
+                || layerProfile != PreferencesManager.getPreferencesManager().getRenderProfile()
+                || layerSnapshot.slice != snapshot.slice
+                || layerSnapshot.zoom != snapshot.zoom || layerSnapshot.panX != snapshot.panX
+                || layerSnapshot.panY != snapshot.panY
+                || cells != layerSnapshot.board && cells.getChangeCount() > visible.width * visible.height / 4)
+            rebuildLayer(gx, renderWidth, renderHeight, cells, hovered);
+        else {
+            final BoardSnapshot layerBoard = layerSnapshot.board;
+            if (cells != layerBoard) {
+                // the change list only covers the step from the previous snapshot, after skipping some compare all cells
+                if (cells.getVersion() == layerBoard.getVersion() + 1) {
+                    for (int i = 0; i < cells.getChangeCount(); i++) {
+                        final int index = cells.getChange(i);
+                        if (geometry.isVisible(index)) redrawCell(cells, index, hovered);
                     }
                 }
                 else {
-                    String num;
-                    Color col = GameResources.getResources().getColorResource(GameResources.COLOR_FG);
-                    if (fields[x][y].isMine()) num = "X";
-                    else {
-                        int n = fields[x][y].getAdajacentMineCount();
-                        num = n > 0 ? Integer.toString(n) : "";
-                        switch(n) {
-                            case 1:
-                                col = GameResources.getResources().getColorResource(GameResources.COLOR_STH_NEARBY);
-                                break;
-                            case 2:
-                                col = GameResources.getResources().getColorResource(GameResources.COLOR_BE_CAREFUL);
-                                break;
-                            case 3:
-                                col = GameResources.getResources().getColorResource(GameResources.COLOR_BE_VERY_CAREFUL);
-                                break;
-                            case 4:
-                                col = GameResources.getResources().getColorResource(GameResources.COLOR_DANGER);
-                                break;
-                            case 5:
-                                col = GameResources.getResources().getColorResource(GameResources.COLOR_GREAT_DANGER);
-                                break;
-                            case 6:
-                                col = GameResources.getResources().getColorResource(GameResources.COLOR_SURROUNDED_BY_MINES);
-                                break;
-                            case 7:
-                                col = GameResources.getResources().getColorResource(GameResources.COLOR_THERE_IS_NO_ESCAPE);
-                                break;
-                            case 8:
-                                col = GameResources.getResources().getColorResource(GameResources.COLOR_YOU_WILL_DIE_NOW);
-                                break;
+                    for (int row = visible.y; row < visible.y + visible.height; row++)
+                        for (int col = visible.x; col < visible.x + visible.width; col++) {
+                            final int index = geometry.cellIndex(col, row);
+                            if (cells.differs(layerBoard, index)) redrawCell(cells, index, hovered);
                         }
-                    }
-
-                    gx.setColor(col);
-                    gx.setFont(PreferencesManager.getPreferencesManager().getFont().deriveFont(Font.BOLD, 12));
-                    final double ratio = rects[x][y].getWidth() /
-                            gx.getFontMetrics().getStringBounds("A", gx).getWidth() / 2;
-                    gx.setFont(gx.getFont().deriveFont(12 * (float) ratio));
-                    gx.drawString(num, (float) (rects[x][y].getX() + rects[x][y].getWidth() / 2 -
-                                    gx.getFontMetrics().getStringBounds(num, gx).getCenterX()),
-                            (float) (rects[x][y].getY() + rects[x][y].getHeight() / 2 -
-                                    gx.getFontMetrics().getStringBounds(num, gx).getCenterY()));
                 }
-
+            }
+            if (hovered != layerHovered) {
+                if (layerHovered != BoardGeometry.OUTSIDE) redrawCell(cells, layerHovered, hovered);
+                if (hovered != BoardGeometry.OUTSIDE) redrawCell(cells, hovered, hovered);
             }
         }
-
-        if (paused) {
-            gx.setColor(new Color(0xDD000000, true));
-            gx.fillRect(0, 0, renderWidth, renderHeight);
-
+        layerSnapshot = snapshot;
+        layerHovered = hovered;
+        gx.drawImage(layer, 0, 0, null);
+
+        if (snapshot.zoom > 1) {
+            final BoardRaster raster = raster();
+            final Rectangle2D area = minimapArea(renderWidth, renderHeight, raster.getWidth(), raster.getHeight());
+            final double cell = area.getWidth() / raster.getWidth(), frame = renderHeight / 160.0;
+            raster.validate(cells, snapshot.slice);
+            gx.setColor(GameResources.getResources().getColorResource(GameResources.COLOR_BG));
+            gx.fill(new Rectangle2D.Double(area.getX() - frame, area.getY() - frame,
+                    area.getWidth() + 2 * frame, area.getHeight() + 2 * frame));
+            raster.draw(gx, area);
+            // the part of the board on screen, inverted to stand out from hidden and revealed cells alike
+            gx.setXORMode(GameResources.getResources().getColorResource(GameResources.COLOR_BG));
             gx.setColor(GameResources.getResources().getColorResource(GameResources.COLOR_FG));
-            String fstLine = GameResources.getResources().getStringResource(GameResources.STRING_PAUSED);
-            gx.setFont(PreferencesManager.getPreferencesManager().getFont().deriveFont(Font.BOLD, 12));
-            double ratio = renderWidth / gx.getFontMetrics().getStringBounds(fstLine, gx).getWidth() / 3;
-            gx.setFont(gx.getFont().deriveFont(12 * (float) ratio));
-            gx.drawString(fstLine, (float) (renderWidth / 2 -
-                            gx.getFontMetrics(). getStringBounds(fstLine, gx).getCenterX()),
-                    (float) (renderHeight / 2 - gx.getFontMetrics().getStringBounds(fstLine, gx).getHeight()));
-
-            if (sndLine == null)
-                sndLine = GameResources.getResources().getStringResource(GameResources.STRING_ESC_TO_RESUME);
-            gx.setFont(PreferencesManager.getPreferencesManager().getFont().deriveFont(Font.BOLD, 12));
-            ratio = renderWidth / gx.getFontMetrics().getStringBounds(sndLine, gx).getWidth() / 3;
-            gx.setFont(gx.getFont().deriveFont(12 * (float) ratio));
-            gx.drawString(sndLine, (float) (renderWidth / 2 -
-                            gx.getFontMetrics(). getStringBounds(sndLine, gx).getCenterX()),
-                    (float) (renderHeight / 2 + gx.getFontMetrics().getStringBounds(sndLine, gx).getCenterY()));
-
-            double buttonW = renderWidth / 4, buttonH = renderHeight / 5;
-            retryRect.setRect(renderWidth / 2 - renderWidth / 8 - buttonW, renderHeight / 3 * 2, buttonW, buttonH);
-            quitRect.setRect(renderWidth / 2 + renderWidth / 8, renderHeight / 3 * 2, buttonW, buttonH);
-
-            gx.setFont(PreferencesManager.getPreferencesManager().getFont().deriveFont(Font.BOLD, 12));
-            ratio = retryRect.getWidth() / gx.getFontMetrics().
-                    getStringBounds(GameResources.getResources().getStringResource(GameResources.STRING_RESTART), gx).getWidth() / 1.2;
-            gx.setFont(gx.getFont().deriveFont(12 * (float) ratio));
-            String retryString = focused1st ? GameResources.getResources().getClickedStringDecoration(GameResources.getResources().getStringResource(GameResources.STRING_RESTART)) :
-                    GameResources.getResources().getStringResource(GameResources.STRING_RESTART);
-            gx.drawString(retryString, (float) (retryRect.getX() + retryRect.getWidth() / 2 - gx.getFontMetrics().
-                            getStringBounds(retryString, gx).getCenterX()),
-                    (float) (retryRect.getY() + retryRect.getHeight() / 2 - gx.getFontMetrics().
-                            getStringBounds(retryString, gx).getCenterY()));
-            String quitString = focused2nd ? GameResources.getResources().getClickedStringDecoration(GameResources.getResources().getStringResource(GameResources.STRING_QUIT)) :
-                    GameResources.getResources().getStringResource(GameResources.STRING_QUIT);
-            gx.drawString(quitString, (float) (quitRect.getX() + quitRect.getWidth() / 2 - gx.getFontMetrics().
-                            getStringBounds(quitString, gx).getCenterX()),
-                    (float) (quitRect.getY() + quitRect.getHeight() / 2 - gx.getFontMetrics().
-                            getStringBounds(quitString, gx).getCenterY()));
-            return;
+            gx.draw(new Rectangle2D.Double(area.getX() + visible.x * cell, area.getY() + visible.y * cell,
+                    visible.width * cell, visible.height * cell));
+            gx.setPaintMode();
         }
+    }
 
-        if (gameOver && !win) {
-            gx.setColor(new Color(0xDD000000, true));
-            gx.fillRect(0, 0, renderWidth, renderHeight);
+    /**
+     * Draws all cells on screen into the layer again, needed after a resize, a theme or render profile change,
+     * switching the slice or moving the camera. Also faster than redrawing cell by cell once a good part of the board changed,
+     * e.g. when all mines are revealed on game over.
+     */
+    private void rebuildLayer(final Graphics2D gx, final int renderWidth, final int renderHeight,
+                              final BoardSnapshot cells, final int hovered) {
+        if (layer == null || layer.getWidth() != renderWidth || layer.getHeight() != renderHeight) {
+            if (layerGx != null)
+                layerGx.dispose();
+            layer = gx.getDeviceConfiguration().createCompatibleImage(renderWidth, renderHeight);
+            layerGx = layer.createGraphics();
+        }
+        layerTheme = GameResources.getResources().getTheme();
+        layerProfile = PreferencesManager.getPreferencesManager().getRenderProfile();
+        layerProfile.apply(layerGx);
+
+        final Color background = layerTheme.getColor(GameResources.COLOR_BG);
+        final int reach = geometry.cellSize(); // glyphs reach up to half a cell over their cell
+        tiles.render(layer, layerGx, (tileGx, top, bottom) -> {
+            tileGx.setColor(background);
+            tileGx.fillRect(0, top, renderWidth, bottom - top);
+            for (int row = visible.y; row < visible.y + visible.height; row++)
+                for (int col = visible.x; col < visible.x + visible.width; col++) {
+                    final int index = geometry.cellIndex(col, row), y = geometry.cellY(index);
+                    if (y + 2 * reach > top && y - reach < bottom)
+                        drawCell(tileGx, cells, index, index == hovered);
+                }
+        });
+    }
 
-            gx.setColor(GameResources.getResources().getColorResource(GameResources.COLOR_FG));
-            String fstLine = GameResources.getResources().getStringResource(GameResources.STRING_GAME_OVER);
-            gx.setFont(PreferencesManager.getPreferencesManager().getFont().deriveFont(Font.BOLD, 12));
-            double ratio = renderWidth / gx.getFontMetrics().getStringBounds(fstLine, gx).getWidth() / 2;
-            gx.setFont(gx.getFont().deriveFont(12 * (float) ratio));
-            gx.drawString(fstLine, (float) (renderWidth / 2 -
-                            gx.getFontMetrics(). getStringBounds(fstLine, gx).getCenterX()),
-                    (float) (renderHeight / 2 - gx.getFontMetrics().getStringBounds(fstLine, gx).getHeight()));
-
-            if (sndLine == null)
-                sndLine = GameResources.getResources().getStringResource(GameResources.STRING_GAME_OVER_2ND);
-            gx.setFont(PreferencesManager.getPreferencesManager().getFont().deriveFont(Font.BOLD, 12));
-            ratio = renderWidth / gx.getFontMetrics().getStringBounds(sndLine, gx).getWidth() / 2;
-            gx.setFont(gx.getFont().deriveFont(12 * (float) ratio));
-            gx.drawString(sndLine, (float) (renderWidth / 2 -
-                            gx.getFontMetrics(). getStringBounds(sndLine, gx).getCenterX()),
-                    (float) (renderHeight / 2 + gx.getFontMetrics().getStringBounds(sndLine, gx).getCenterY()));
-
-            double buttonW = renderWidth / 4, buttonH = renderHeight / 5;
-            retryRect.setRect(renderWidth / 2 - renderWidth / 8 - buttonW, renderHeight / 3 * 2, buttonW, buttonH);
-            quitRect.setRect(renderWidth / 2 + renderWidth / 8, renderHeight / 3 * 2, buttonW, buttonH);
-
-            gx.setFont(PreferencesManager.getPreferencesManager().getFont().deriveFont(Font.BOLD, 12));
-            ratio = retryRect.getWidth() / gx.getFontMetrics().
-                    getStringBounds(GameResources.getResources().getStringResource(GameResources.STRING_RETRY), gx).getWidth() / 1.2;
-            gx.setFont(gx.getFont().deriveFont(12 * (float) ratio));
-            String retryString = focused1st ? GameResources.getResources().getClickedStringDecoration(GameResources.getResources().getStringResource(GameResources.STRING_RETRY)) :
-                    GameResources.getResources().getStringResource(GameResources.STRING_RETRY);
-            gx.drawString(retryString, (float) (retryRect.getX() + retryRect.getWidth() / 2 - gx.getFontMetrics().
-                            getStringBounds(retryString, gx).getCenterX()),
-                    (float) (retryRect.getY() + retryRect.getHeight() / 2 - gx.getFontMetrics().
-                            getStringBounds(retryString, gx).getCenterY()));
-            String quitString = focused2nd ? GameResources.getResources().getClickedStringDecoration(GameResources.getResources().getStringResource(GameResources.STRING_QUIT)) :
-                    GameResources.getResources().getStringResource(GameResources.STRING_QUIT);
-            gx.drawString(quitString, (float) (quitRect.getX() + quitRect.getWidth() / 2 - gx.getFontMetrics().
-                            getStringBounds(quitString, gx).getCenterX()),
-                    (float) (quitRect.getY() + quitRect.getHeight() / 2 - gx.getFontMetrics().
-                            getStringBounds(quitString, gx).getCenterY()));
+    /**
+     * Clears the slot of a single cell in the layer and draws the cell again.
+     */
+    private void redrawCell(final BoardSnapshot cells, final int index, final int hovered) {
+        geometry.clipSlot(layerGx, index);
+        layerGx.setColor(layerTheme.getColor(GameResources.COLOR_BG));
+        layerGx.fillRect(0, 0, layer.getWidth(), layer.getHeight());
+        drawCell(layerGx, cells, index, index == hovered);
+        layerGx.setClip(null);
+    }
 
-            return;
+    private void drawCell(final Graphics2D gx, final BoardSnapshot cells, final int index, final boolean hovered) {
+        final float mouseScale = geometry.getScale() / 25;
+        final int cx = geometry.cellX(index), cy = geometry.cellY(index);
+        gx.setColor(GameResources.getResources().getColorResource(GameResources.COLOR_ACC));
+        if (!cells.isRevealed(index) && hovered && !cells.isFlagged(index))
+            geometry.fillCell(gx, index, mouseScale);
+        else if (!cells.isRevealed(index)) {
+            geometry.fillCell(gx, index, 0);
+            if (cells.isFlagged(index))
+                glyphs.draw(gx, GlyphAtlas.FLAG, cx, cy);
         }
-        else if (gameOver) {
-            gx.setColor(new Color(0xDD000000, true));
-            gx.fillRect(0, 0, renderWidth, renderHeight);
+        else if (cells.isMine(index))
+            glyphs.draw(gx, GlyphAtlas.MINE, cx, cy);
+        else if (cells.getAdjacentMineCount(index) > 0)
+            glyphs.draw(gx, cells.getAdjacentMineCount(index), cx, cy);
+    }
 
-            gx.setColor(GameResources.getResources().getColorResource(GameResources.COLOR_FG));
-            String fstLine = GameResources.getResources().getStringResource(GameResources.STRING_YOU_WON);
-            gx.setFont(PreferencesManager.getPreferencesManager().getFont().deriveFont(Font.BOLD, 12));
-            double ratio = renderWidth / gx.getFontMetrics().getStringBounds(fstLine, gx).getWidth() / 3;
-            gx.setFont(gx.getFont().deriveFont(12 * (float) ratio));
-            gx.drawString(fstLine, (float) (renderWidth / 2 -
-                            gx.getFontMetrics(). getStringBounds(fstLine, gx).getCenterX()),
-                    (float) (renderHeight / 2 - gx.getFontMetrics().getStringBounds(fstLine, gx).getHeight()));
-
-            if (sndLine == null)
-                sndLine = GameResources.getResources().getStringResource(GameResources.STRING_YOU_WON_2ND);
-            gx.setFont(PreferencesManager.getPreferencesManager().getFont().deriveFont(Font.BOLD, 12));
-            ratio = renderWidth / gx.getFontMetrics().getStringBounds(sndLine, gx).getWidth() / 3;
-            gx.setFont(gx.getFont().deriveFont(12 * (float) ratio));
-            gx.drawString(sndLine, (float) (renderWidth / 2 -
-                            gx.getFontMetrics(). getStringBounds(sndLine, gx).getCenterX()),
-                    (float) (renderHeight / 2 + gx.getFontMetrics().getStringBounds(sndLine, gx).getCenterY()));
-
-            double buttonW = renderWidth / 4, buttonH = renderHeight / 5;
-            retryRect.setRect(renderWidth / 2 - renderWidth / 8 - buttonW, renderHeight / 3 * 2, buttonW, buttonH);
-            quitRect.setRect(renderWidth / 2 + renderWidth / 8, renderHeight / 3 * 2, buttonW, buttonH);
-
-            gx.setFont(PreferencesManager.getPreferencesManager().getFont().deriveFont(Font.BOLD, 12));
-            ratio = retryRect.getWidth() / gx.getFontMetrics().
-                    getStringBounds(GameResources.getResources().getStringResource(GameResources.STRING_RETRY), gx).getWidth() / 1.2;
-            gx.setFont(gx.getFont().deriveFont(12 * (float) ratio));
-            String retryString = focused1st ? GameResources.getResources().getClickedStringDecoration(GameResources.getResources().getStringResource(GameResources.STRING_RETRY)) :
-                    GameResources.getResources().getStringResource(GameResources.STRING_RETRY);
-            gx.drawString(retryString, (float) (retryRect.getX() + retryRect.getWidth() / 2 - gx.getFontMetrics().
-                            getStringBounds(retryString, gx).getCenterX()),
-                    (float) (retryRect.getY() + retryRect.getHeight() / 2 - gx.getFontMetrics().
-                            getStringBounds(retryString, gx).getCenterY()));
-            String quitString = focused2nd ? GameResources.getResources().getClickedStringDecoration(GameResources.getResources().getStringResource(GameResources.STRING_QUIT)) :
-                    GameResources.getResources().getStringResource(GameResources.STRING_QUIT);
-            gx.drawString(quitString, (float) (quitRect.getX() + quitRect.getWidth() / 2 - gx.getFontMetrics().
-                            getStringBounds(quitString, gx).getCenterX()),
-                    (float) (quitRect.getY() + quitRect.getHeight() / 2 - gx.getFontMetrics().
-                            getStringBounds(quitString, gx).getCenterY()));
-        }
+    /**
+     * @return the id to replay this board with, or null as long as the mines are not spread.
+     * Only to be called by the logic thread.
+     */
+    public BoardId getBoardId() {
+        return game.getBoardId();
     }
 
-    private void spreadMines (final int x, final int y) {
-        minesSpread = true;
-        List<Field> unminedFields = new Vector<>();
-        for (int i = 0; i < width; i++) {
-            for (int j = 0; j < height; j++) {
-                if (i >= x - 1 && i <= x + 1 && j >= y - 1 && j <= y + 1) continue;
-                unminedFields.add(fields[i][j]);
-            }
-        }
-        assert mineCount < unminedFields.size() : "Too many mines";
-        Random rng = new Random();
-        for (int m = mineCount; m > 0; m--) {
-            int pos = rng.nextInt(unminedFields.size());
-            unminedFields.get(pos).setMine(true);
-            unminedFields.remove(pos);
-        }
+    /**
+     * @return the game played, e.g. to drive it from a benchmark. Only to be touched by the logic thread.
+     */
+    public Game getGame() {
+        return game;
+    }
+
+    /**
+     * Makes the next frame draw the whole board again instead of only what changed, e.g. to measure a full redraw.
+     * Only to be called by the render thread.
+     */
+    public void invalidate() {
+        layerSnapshot = null;
+        if (raster != null)
+            raster.invalidate();
+    }
+
+    /**
+     * @return the raster of the board, allocated on first use since it takes 4 bytes per cell of a layer
+     */
+    private BoardRaster raster() {
+        if (raster == null)
+            raster = new BoardRaster(board.getTopology());
+        return raster;
     }
 
     @Override
-    public synchronized void mouseReleased(MouseEvent e) {
-        if (e.getButton() == MouseEvent.BUTTON1)
-            mouseClicked = true;
-        if (e.getButton() == MouseEvent.BUTTON3)
-            mouseRightClicked = true;
+    public void mouseReleased(MouseEvent e) {
+        input.offer(e.getID(), e.getX(), e.getY(), e.getButton(), e.getWhen());
     }
 
     @Override
-    public synchronized void mouseMoved(MouseEvent e) {
-        focused1st = retryRect.contains(e.getPoint());
-        focused2nd = quitRect.contains(e.getPoint());
+    public void mousePressed(MouseEvent e) {
+        input.offer(e.getID(), e.getX(), e.getY(), e.getButton(), e.getWhen());
+    }
+
+    @Override
+    public void mouseMoved(MouseEvent e) {
+        input.offer(e.getID(), e.getX(), e.getY(), e.getButton(), e.getWhen());
+    }
+
+    @Override
+    public void mouseDragged(MouseEvent e) {
+        input.offer(e.getID(), e.getX(), e.getY(), e.getButton(), e.getWhen());
+    }
+
+    @Override
+    public void mouseWheelMoved(MouseWheelEvent e) {
+        input.offer(e.getID(), e.getX(), e.getY(), e.getWheelRotation(), e.getWhen());
     }
 
     @Override
     public void keyPressed(KeyEvent e) {
-        if (e.getKeyCode() == KeyEvent.VK_ESCAPE)
-            escClicked = true;
+        input.offer(e.getID(), 0, 0, e.getKeyCode(), e.getWhen());
+    }
+
+    /**
+     * Everything the renderer needs to know about one tick, never changed after being published.
+     */
+    private static final class Snapshot {
+        final BoardSnapshot board;
+        final Game.State state;
+        final boolean paused;
+        final int slice;
+        final float zoom, panX, panY;
+        final boolean focused1st;
+        final boolean focused2nd;
+
+        Snapshot(BoardSnapshot board, Game.State state, boolean paused, int slice, float zoom, float panX, float panY,
+                 boolean focused1st, boolean focused2nd) {
+            this.board = board;
+            this.state = state;
+            this.paused = paused;
+            this.slice = slice;
+            this.zoom = zoom;
+            this.panX = panX;
+            this.panY = panY;
+            this.focused1st = focused1st;
+            this.focused2nd = focused2nd;
+        }
     }
 
     public static Preset[] getPresets() {
@@ -431,12 +591,18 @@ public class MinefieldDefault implements Minefield {
         public final int width;
         public final int height;
         public final int mineCount;
+        public final Long seed; // null for a new random board every time
 
         public Preset(String name, int width, int height, int mineCount) {
+            this(name, width, height, mineCount, null);
+        }
+
+        public Preset(String name, int width, int height, int mineCount, Long seed) {
             this.name = name;
             this.width = width;
             this.height = height;
             this.mineCount = mineCount;
+            this.seed = seed;
         }
     }
 
@@ -5,12 +5,13 @@ package de.gazibaric.marvin.minesweeper;
 // when you do not have the explicit permission to do so.
 // For questions about this, refer to the LICENSE.md file probably provided with the project files.
 
-import java.awt.*;
+/**
+ * The game on a board of hexagons, every cell has six neighbours.
+ * Plays and renders exactly like the square game, only the {@link Topology} and its geometry differ.
+ */
+public class MinefieldHexagonal extends MinefieldDefault {
 
-public class MinefieldHexagonal implements Minefield {
-
-    @Override
-    public int update(Point mouse) {
-        return 0;
+    public MinefieldHexagonal(Preset preset) {
+        super(preset, new HexTopology(preset.width, preset.height));
     }
 }
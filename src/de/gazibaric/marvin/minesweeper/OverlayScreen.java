@@ -0,0 +1,130 @@
+package de.gazibaric.marvin.minesweeper;
+
+// This file is part of Minesweeper, created on 18.10.2026 by (c) Marvin Gazibarić.
+// You are generally not allowed to modify, distribute or use this code,
+// when you do not have the explicit permission to do so.
+// For questions about this, refer to the LICENSE.md file probably provided with the project files.
+
+import java.awt.*;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.function.Consumer;
+
+/**
+ * One of the screens laid over the board, e.g. when the game is paused or over: two lines of text on a darkened board
+ * and a button on either side below. Nothing changes under the screen while it is shown, so the board, the darkening
+ * and the lines are rendered into an opaque backdrop only once per resolution and theme, or when the board
+ * does change after all. The fonts and positions of the button labels are measured along with it.
+ * A frame then only copies the backdrop and draws the two labels, in the clicked decoration while the mouse is on a button.
+ */
+public class OverlayScreen {
+
+    private static final Color DIM = new Color(0xDD000000, true);
+
+    private final String titleKey, subtitleKey, retryKey;
+    private final int lineDivisor;
+    private String title, subtitle, retry, retryFocused, quit, quitFocused;
+
+    private BufferedImage backdrop;
+    private GameResources.Theme theme;
+    private Font labelFont;
+    private final float[] labelX = new float[4], labelY = new float[4]; // retry, focused retry, quit, focused quit
+
+    /**
+     * @param retryKey the label of the left button, the right one always quits
+     * @param lineDivisor the lines are scaled to this fraction of the render width
+     */
+    public OverlayScreen(String titleKey, String subtitleKey, String retryKey, int lineDivisor) {
+        this.titleKey = titleKey;
+        this.subtitleKey = subtitleKey;
+        this.retryKey = retryKey;
+        this.lineDivisor = lineDivisor;
+    }
+
+    /**
+     * @param under paints whatever is under the screen, called only if the backdrop has to be rendered again
+     * @param stale whether something under the screen changed since the last frame
+     */
+    public void draw(Graphics2D gx, int renderWidth, int renderHeight, Consumer<Graphics2D> under, boolean stale,
+                     boolean retryFocused, boolean quitFocused) {
+        if (stale || backdrop == null || backdrop.getWidth() != renderWidth || backdrop.getHeight() != renderHeight
+                || theme != GameResources.getResources().getTheme())
+            prerender(gx, renderWidth, renderHeight, under);
+        gx.drawImage(backdrop, 0, 0, null);
+        gx.setColor(theme.getColor(GameResources.COLOR_FG));
+        gx.setFont(labelFont);
+        gx.drawString(retryFocused ? this.retryFocused : retry, labelX[retryFocused ? 1 : 0], labelY[retryFocused ? 1 : 0]);
+        gx.drawString(quitFocused ? this.quitFocused : quit, labelX[quitFocused ? 3 : 2], labelY[quitFocused ? 3 : 2]);
+    }
+
+    /**
+     * @return the area of the left or the right button
+     */
+    public static Rectangle2D button(final int renderWidth, final int renderHeight, final boolean right) {
+        double buttonW = renderWidth / 4, buttonH = renderHeight / 5;
+        return new Rectangle2D.Double(right ? renderWidth / 2 + renderWidth / 8 : renderWidth / 2 - renderWidth / 8 - buttonW,
+                renderHeight / 3 * 2, buttonW, buttonH);
+    }
+
+    private void prerender(final Graphics2D target, final int renderWidth, final int renderHeight,
+                           final Consumer<Graphics2D> under) {
+        final GameResources.Theme current = GameResources.getResources().getTheme();
+        final Font font = PreferencesManager.getPreferencesManager().getFont().deriveFont(Font.BOLD, 12);
+        if (current != theme) {
+            // the lines with several variants keep the one picked first until the theme changes
+            theme = current;
+            title = theme.getString(titleKey);
+            subtitle = theme.getString(subtitleKey);
+            retry = theme.getString(retryKey);
+            quit = theme.getString(GameResources.STRING_QUIT);
+            retryFocused = GameResources.getResources().getClickedStringDecoration(retry);
+            quitFocused = GameResources.getResources().getClickedStringDecoration(quit);
+        }
+        if (backdrop == null || backdrop.getWidth() != renderWidth || backdrop.getHeight() != renderHeight)
+            backdrop = target.getDeviceConfiguration().createCompatibleImage(renderWidth, renderHeight);
+        final Graphics2D gx = backdrop.createGraphics();
+        try {
+            gx.setRenderingHints(target.getRenderingHints());
+            under.accept(gx);
+            gx.setColor(DIM);
+            gx.fillRect(0, 0, renderWidth, renderHeight);
+
+            gx.setColor(theme.getColor(GameResources.COLOR_FG));
+            gx.setFont(font);
+            double ratio = renderWidth / gx.getFontMetrics().getStringBounds(title, gx).getWidth() / lineDivisor;
+            gx.setFont(font.deriveFont(12 * (float) ratio));
+            Rectangle2D bounds = gx.getFontMetrics().getStringBounds(title, gx);
+            gx.drawString(title, (float) (renderWidth / 2 - bounds.getCenterX()), (float) (renderHeight / 2 - bounds.getHeight()));
+
+            gx.setFont(font);
+            ratio = renderWidth / gx.getFontMetrics().getStringBounds(subtitle, gx).getWidth() / lineDivisor;
+            gx.setFont(font.deriveFont(12 * (float) ratio));
+            bounds = gx.getFontMetrics().getStringBounds(subtitle, gx);
+            gx.drawString(subtitle, (float) (renderWidth / 2 - bounds.getCenterX()), (float) (renderHeight / 2 + bounds.getCenterY()));
+
+            // both labels get the size that fits the undecorated left one into its button
+            final Rectangle2D retryRect = button(renderWidth, renderHeight, false);
+            final Rectangle2D quitRect = button(renderWidth, renderHeight, true);
+            gx.setFont(font);
+            ratio = retryRect.getWidth() / gx.getFontMetrics().getStringBounds(retry, gx).getWidth() / 1.2;
+            labelFont = font.deriveFont(12 * (float) ratio);
+            gx.setFont(labelFont);
+            place(gx, 0, retry, retryRect);
+            place(gx, 1, retryFocused, retryRect);
+            place(gx, 2, quit, quitRect);
+            place(gx, 3, quitFocused, quitRect);
+        }
+        finally {
+            gx.dispose();
+        }
+    }
+
+    /**
+     * Centers a label on its button.
+     */
+    private void place(Graphics2D gx, int label, String s, Rectangle2D button) {
+        final Rectangle2D bounds = gx.getFontMetrics().getStringBounds(s, gx);
+        labelX[label] = (float) (button.getX() + button.getWidth() / 2 - bounds.getCenterX());
+        labelY[label] = (float) (button.getY() + button.getHeight() / 2 - bounds.getCenterY());
+    }
+}
@@ -2,7 +2,6 @@ package de.gazibaric.marvin.minesweeper;
 
 import java.awt.*;
 import java.io.*;
-import java.util.Hashtable;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Random;
@@ -18,6 +17,8 @@ public class PreferencesManager {
 
     private volatile Properties graphics;
     private volatile Font font;
+    private volatile RenderProfile[] renderProfiles;
+    private volatile RenderProfile renderProfile;
 
     private static PreferencesManager manager;
 
@@ -28,12 +29,17 @@ public class PreferencesManager {
 
     private PreferencesManager() {
         graphics = new Properties();
+        // the defaults of every setting, in case graphics.xml cannot be loaded
+        renderProfiles = RenderProfile.compile(graphics);
+        renderProfile = renderProfiles[0];
     }
 
     public void load() throws IOException {
         try {
             graphics.loadFromXML(new BufferedInputStream(PreferencesManager.
                     class.getResourceAsStream("graphics.xml")));
+            renderProfiles = RenderProfile.compile(graphics);
+            renderProfile = renderProfiles[0];
             font = Font.createFont(Font.TRUETYPE_FONT, new BufferedInputStream(PreferencesManager.class.getResourceAsStream("font-boycott.ttf")));
         }
         catch (Exception e) {
@@ -69,58 +75,60 @@ public class PreferencesManager {
                 Integer.parseInt(graphics.getProperty("height", "600")));
     }
 
-    public synchronized Map<RenderingHints.Key, Object> getRenderingHints() {
-        Map<RenderingHints.Key, Object> hints = new Hashtable<>();
-        switch ((String) graphics.get("antialiasing")) {
-            case "on":
-                hints.put(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-                hints.put(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
-                break;
-            case "off":
-                hints.put(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
-                hints.put(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
-                break;
-            default:
-                hints.put(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_DEFAULT);
-                hints.put(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_DEFAULT);
+    /**
+     * @return the number of frames per second the game renders at most
+     */
+    public int getFrameRate() {
+        try {
+            return Math.max(1, Integer.parseInt(graphics.getProperty("fps", "100")));
         }
-        switch ((String) graphics.get("quality")) {
-            case "high":
-                hints.put(RenderingHints.KEY_ALPHA_INTERPOLATION, RenderingHints.VALUE_ALPHA_INTERPOLATION_QUALITY);
-                hints.put(RenderingHints.KEY_COLOR_RENDERING, RenderingHints.VALUE_COLOR_RENDER_QUALITY);
-                hints.put(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
-                break;
-            case "low":
-                hints.put(RenderingHints.KEY_ALPHA_INTERPOLATION, RenderingHints.VALUE_ALPHA_INTERPOLATION_SPEED);
-                hints.put(RenderingHints.KEY_COLOR_RENDERING, RenderingHints.VALUE_COLOR_RENDER_SPEED);
-                hints.put(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_SPEED);
-                break;
-            default:
-                hints.put(RenderingHints.KEY_ALPHA_INTERPOLATION, RenderingHints.VALUE_ALPHA_INTERPOLATION_DEFAULT);
-                hints.put(RenderingHints.KEY_COLOR_RENDERING, RenderingHints.VALUE_COLOR_RENDER_DEFAULT);
-                hints.put(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_DEFAULT);
+        catch (NumberFormatException e) {
+            return 100;
         }
-        switch ((String) graphics.get("interpolation")) {
-            case "bicubic":
-                hints.put(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
-                break;
-            case "neighbour":
-                hints.put(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
-                break;
-            default:
-                hints.put(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+    }
+
+    /**
+     * @return the number of logic ticks per second, input is handled once per tick
+     */
+    public int getTickRate() {
+        try {
+            return Math.max(1, Integer.parseInt(graphics.getProperty("tps", "100")));
         }
-        switch ((String) graphics.get("dither")) {
-            case "enabled":
-                hints.put(RenderingHints.KEY_DITHERING, RenderingHints.VALUE_DITHER_ENABLE);
-                break;
-            case "disabled":
-                hints.put(RenderingHints.KEY_DITHERING, RenderingHints.VALUE_DITHER_DISABLE);
-                break;
-            default:
-                hints.put(RenderingHints.KEY_DITHERING, RenderingHints.VALUE_DITHER_DEFAULT);
+        catch (NumberFormatException e) {
+            return 100;
         }
-        return hints;
+    }
+
+    /**
+     * @return the hints of the current render profile, read-only
+     */
+    public Map<?, ?> getRenderingHints() {
+        return renderProfile.getHints();
+    }
+
+    /**
+     * @return the profile frames are currently rendered with, compared by identity to notice a change
+     */
+    public RenderProfile getRenderProfile() {
+        return renderProfile;
+    }
+
+    public void setRenderProfile(RenderProfile profile) {
+        this.renderProfile = profile;
+    }
+
+    /**
+     * @return the ladder of profiles from the configured quality down to the fastest
+     */
+    public RenderProfile[] getRenderProfiles() {
+        return renderProfiles.clone();
+    }
+
+    /**
+     * @return whether the quality may be lowered automatically when frames take too long
+     */
+    public boolean isAdaptiveQuality() {
+        return !graphics.getProperty("adaptive", "on").equals("off");
     }
 
     public Font getFont() {
@@ -0,0 +1,87 @@
+package de.gazibaric.marvin.minesweeper;
+
+// This file is part of Minesweeper, created on 18.10.2026 by (c) Marvin Gazibarić.
+// You are generally not allowed to modify, distribute or use this code,
+// when you do not have the explicit permission to do so.
+// For questions about this, refer to the LICENSE.md file probably provided with the project files.
+
+import java.util.Arrays;
+
+/**
+ * Picks the {@link RenderProfile} frames are rendered with from the time rendering them takes.
+ * The time is averaged over the last frames. When the average is over the budget of a frame, the quality steps down
+ * the ladder. When it stays below half the budget for a while, it steps back up towards the configured quality.
+ * After a change the average starts over, since the first frames include redrawing everything with the new hints.
+ * Stepping back up right away costs a full redraw each time, so a step up that has to be undone before the headroom
+ * period is over doubles the period needed before trying to step up from that level again.
+ * The chosen profile is published as the current one of the {@link PreferencesManager}.
+ * Only to be fed by the render thread, the reason for the last change can be read by any thread.
+ */
+public class QualityGovernor {
+
+    private static final int SETTLE_FRAMES = 30; // frames to average before stepping down
+    private static final int HEADROOM_FRAMES = 240; // frames with headroom before stepping up again
+    private static final int MAX_HEADROOM_FRAMES = HEADROOM_FRAMES * 64; // the most a failed step up backs off to
+
+    private final RenderProfile[] ladder;
+    private final long budgetNanos;
+    private final boolean adaptive;
+
+    private final int[] headroom; // per level, the frames with headroom needed before stepping up from it
+    private double average;
+    private int frames = 0; // since the last change
+    private boolean steppedUp = false; // whether the last change was a step up
+
+    private volatile String reason = "configured";
+
+    /**
+     * @param adaptive whether to change the quality at all, the configured quality is kept otherwise
+     */
+    public QualityGovernor(int targetFrameRate, boolean adaptive) {
+        if (targetFrameRate <= 0)
+            throw new IllegalArgumentException("Invalid frame rate: " + targetFrameRate);
+        this.ladder = PreferencesManager.getPreferencesManager().getRenderProfiles();
+        this.budgetNanos = 1_000_000_000L / targetFrameRate;
+        this.adaptive = adaptive;
+        this.headroom = new int[ladder.length];
+        Arrays.fill(headroom, HEADROOM_FRAMES);
+    }
+
+    /**
+     * Accounts for one frame that took the given time to render.
+     */
+    public void frameRendered(long nanos) {
+        if (!adaptive) return;
+        average = frames == 0 ? nanos : average + (nanos - average) / 8;
+        frames++;
+        final int level = getProfile().getLevel();
+        if (steppedUp && frames == HEADROOM_FRAMES)
+            headroom[level + 1] = HEADROOM_FRAMES; // the step up held
+        if (frames >= SETTLE_FRAMES && average > budgetNanos && level < ladder.length - 1) {
+            if (steppedUp && frames < HEADROOM_FRAMES)
+                headroom[level + 1] = Math.min(headroom[level + 1] * 2, MAX_HEADROOM_FRAMES);
+            change(level + 1, "over budget", false);
+        }
+        else if (frames >= headroom[level] && average < budgetNanos / 2 && level > 0)
+            change(level - 1, "below half the budget", true);
+    }
+
+    private void change(int level, String why, boolean up) {
+        reason = String.format("frame time %.1f ms %s of %.1f ms", average / 1e6, why, budgetNanos / 1e6);
+        PreferencesManager.getPreferencesManager().setRenderProfile(ladder[level]);
+        frames = 0;
+        steppedUp = up;
+        System.out.println("Render quality " + level + " (" + ladder[level] + "): " + reason);
+    }
+
+    public RenderProfile getProfile() {
+        return PreferencesManager.getPreferencesManager().getRenderProfile();
+    }
+
+    /**
+     * @return why the quality was last changed, or that it is still the configured one
+     */
+    public String getReason() {
+        return reason;
+    }
+}
@@ -8,14 +8,32 @@ package de.gazibaric.marvin.minesweeper;
 import java.awt.*;
 import java.awt.event.*;
 
-public interface RenderCanvas extends MouseListener, MouseMotionListener, KeyListener {
+public interface RenderCanvas extends MouseListener, MouseMotionListener, MouseWheelListener, KeyListener {
 
     default void render(Graphics2D gx, int renderWidth, int renderHeight, Point mouse) {
         gx.setColor(Color.CYAN);
         gx.fillRect(0, 0, renderWidth, renderHeight);
     }
 
-    int update(Point mouse);
+    /**
+     * Called by the logic thread at a fixed rate, handles the queued input. Must never wait for the renderer.
+     * @return a state constant of the canvas, e.g. telling the game loop to switch to another canvas
+     */
+    int update(int renderWidth, int renderHeight);
+
+    /**
+     * @return a number that changes whenever {@link #update} changed something that is to be rendered
+     */
+    default int getVersion() {
+        return 0;
+    }
+
+    /**
+     * @return whether the canvas wants another frame even without any input, e.g. while something is moving
+     */
+    default boolean isAnimating() {
+        return false;
+    }
 
     @Override
     default void mouseClicked(MouseEvent e) {}
@@ -38,6 +56,9 @@ public interface RenderCanvas extends MouseListener, MouseMotionListener, KeyLis
     @Override
     default void mouseMoved(MouseEvent e) {}
 
+    @Override
+    default void mouseWheelMoved(MouseWheelEvent e) {}
+
     @Override
     default void keyPressed(KeyEvent e) {}
 
@@ -0,0 +1,127 @@
+package de.gazibaric.marvin.minesweeper;
+
+// This file is part of Minesweeper, created on 18.10.2026 by (c) Marvin Gazibarić.
+// You are generally not allowed to modify, distribute or use this code,
+// when you do not have the explicit permission to do so.
+// For questions about this, refer to the LICENSE.md file probably provided with the project files.
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * A set of rendering hints at one quality level, compiled once and never changed afterwards.
+ * The levels form a ladder from the quality configured in {@code graphics.xml} down to the fastest rendering,
+ * every step lowers one setting: first the interpolation, then the quality and dithering, then the antialiasing.
+ */
+public final class RenderProfile {
+
+    private final int level;
+    private final String antialiasing, quality, interpolation, dither;
+    private final RenderingHints hints;
+    private final Map<?, ?> view;
+
+    private RenderProfile(int level, String antialiasing, String quality, String interpolation, String dither) {
+        this.level = level;
+        this.antialiasing = antialiasing;
+        this.quality = quality;
+        this.interpolation = interpolation;
+        this.dither = dither;
+        this.hints = new RenderingHints(null);
+        switch (antialiasing) {
+            case "on":
+                hints.put(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                hints.put(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+                break;
+            case "off":
+                hints.put(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+                hints.put(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
+                break;
+            default:
+                hints.put(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_DEFAULT);
+                hints.put(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_DEFAULT);
+        }
+        switch (quality) {
+            case "high":
+                hints.put(RenderingHints.KEY_ALPHA_INTERPOLATION, RenderingHints.VALUE_ALPHA_INTERPOLATION_QUALITY);
+                hints.put(RenderingHints.KEY_COLOR_RENDERING, RenderingHints.VALUE_COLOR_RENDER_QUALITY);
+                hints.put(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                break;
+            case "low":
+                hints.put(RenderingHints.KEY_ALPHA_INTERPOLATION, RenderingHints.VALUE_ALPHA_INTERPOLATION_SPEED);
+                hints.put(RenderingHints.KEY_COLOR_RENDERING, RenderingHints.VALUE_COLOR_RENDER_SPEED);
+                hints.put(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_SPEED);
+                break;
+            default:
+                hints.put(RenderingHints.KEY_ALPHA_INTERPOLATION, RenderingHints.VALUE_ALPHA_INTERPOLATION_DEFAULT);
+                hints.put(RenderingHints.KEY_COLOR_RENDERING, RenderingHints.VALUE_COLOR_RENDER_DEFAULT);
+                hints.put(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_DEFAULT);
+        }
+        switch (interpolation) {
+            case "bicubic":
+                hints.put(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+                break;
+            case "neighbour":
+                hints.put(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+                break;
+            default:
+                hints.put(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        }
+        switch (dither) {
+            case "enabled":
+                hints.put(RenderingHints.KEY_DITHERING, RenderingHints.VALUE_DITHER_ENABLE);
+                break;
+            case "disabled":
+                hints.put(RenderingHints.KEY_DITHERING, RenderingHints.VALUE_DITHER_DISABLE);
+                break;
+            default:
+                hints.put(RenderingHints.KEY_DITHERING, RenderingHints.VALUE_DITHER_DEFAULT);
+        }
+        this.view = Collections.unmodifiableMap(hints);
+    }
+
+    /**
+     * Compiles the ladder of profiles, the configured quality first. Steps that would not change anything are left out.
+     */
+    public static RenderProfile[] compile(Properties graphics) {
+        final List<RenderProfile> ladder = new ArrayList<>();
+        RenderProfile profile = new RenderProfile(0, graphics.getProperty("antialiasing", "default"),
+                graphics.getProperty("quality", "default"), graphics.getProperty("interpolation", "default"),
+                graphics.getProperty("dither", "default"));
+        ladder.add(profile);
+        if (!profile.interpolation.equals("neighbour"))
+            ladder.add(profile = new RenderProfile(ladder.size(), profile.antialiasing, profile.quality, "neighbour", profile.dither));
+        if (!profile.quality.equals("low") || !profile.dither.equals("disabled"))
+            ladder.add(profile = new RenderProfile(ladder.size(), profile.antialiasing, "low", profile.interpolation, "disabled"));
+        if (!profile.antialiasing.equals("off"))
+            ladder.add(new RenderProfile(ladder.size(), "off", profile.quality, profile.interpolation, profile.dither));
+        return ladder.toArray(new RenderProfile[0]);
+    }
+
+    public void apply(Graphics2D gx) {
+        gx.setRenderingHints(hints);
+    }
+
+    /**
+     * @return the hints of this profile, read-only
+     */
+    public Map<?, ?> getHints() {
+        return view;
+    }
+
+    /**
+     * @return the position on the ladder, 0 for the configured quality
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    @Override
+    public String toString() {
+        return "antialiasing " + antialiasing + ", quality " + quality + ", interpolation " + interpolation
+                + ", dither " + dither;
+    }
+}
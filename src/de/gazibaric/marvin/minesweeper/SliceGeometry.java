@@ -0,0 +1,104 @@
+package de.gazibaric.marvin.minesweeper;
+
+// This file is part of Minesweeper, created on 18.10.2026 by (c) Marvin Gazibarić.
+// You are generally not allowed to modify, distribute or use this code,
+// when you do not have the explicit permission to do so.
+// For questions about this, refer to the LICENSE.md file probably provided with the project files.
+
+import java.awt.*;
+import java.awt.geom.Rectangle2D;
+
+/**
+ * Screen layout of a {@link LayeredTopology}, one layer at a time. The shown layer is laid out like a square board,
+ * the cells of the other layers are not on screen.
+ */
+public class SliceGeometry implements BoardGeometry {
+
+    private final GridGeometry grid;
+    private final int layerSize, depth;
+    private int slice = 0;
+
+    public SliceGeometry(int width, int height, int depth) {
+        this.grid = new GridGeometry(width, height);
+        this.layerSize = width * height;
+        this.depth = depth;
+    }
+
+    @Override
+    public void layout(int renderWidth, int renderHeight) {
+        grid.layout(renderWidth, renderHeight);
+    }
+
+    @Override
+    public void setView(float zoom, float panX, float panY) {
+        grid.setView(zoom, panX, panY);
+    }
+
+    @Override
+    public float getScale() {
+        return grid.getScale();
+    }
+
+    @Override
+    public int cellSize() {
+        return grid.cellSize();
+    }
+
+    @Override
+    public int cellX(int index) {
+        return grid.cellX(index % layerSize);
+    }
+
+    @Override
+    public int cellY(int index) {
+        return grid.cellY(index % layerSize);
+    }
+
+    @Override
+    public int cellAt(int px, int py) {
+        final int cell = grid.cellAt(px, py);
+        return cell == OUTSIDE ? OUTSIDE : slice * layerSize + cell;
+    }
+
+    @Override
+    public void fillCell(Graphics2D gx, int index, float lift) {
+        grid.fillCell(gx, index % layerSize, lift);
+    }
+
+    @Override
+    public void clipSlot(Graphics2D gx, int index) {
+        grid.clipSlot(gx, index % layerSize);
+    }
+
+    @Override
+    public void visibleCells(Rectangle cells) {
+        grid.visibleCells(cells);
+    }
+
+    @Override
+    public int cellIndex(int column, int row) {
+        return slice * layerSize + grid.cellIndex(column, row);
+    }
+
+    @Override
+    public boolean isVisible(int index) {
+        return index / layerSize == slice && grid.isVisible(index % layerSize);
+    }
+
+    @Override
+    public void rasterBounds(Rectangle2D area) {
+        grid.rasterBounds(area);
+    }
+
+    @Override
+    public int getSliceCount() {
+        return depth;
+    }
+
+    @Override
+    public void showSlice(int slice) {
+        if (slice < 0 || slice >= depth)
+            throw new IllegalArgumentException("Invalid layer: " + slice);
+        this.slice = slice;
+    }
+}
@@ -0,0 +1,650 @@
+package de.gazibaric.marvin.minesweeper;
+
+// This file is part of Minesweeper, created on 18.10.2026 by (c) Marvin Gazibarić.
+// You are generally not allowed to modify, distribute or use this code,
+// when you do not have the explicit permission to do so.
+// For questions about this, refer to the LICENSE.md file probably provided with the project files.
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Works out what the revealed numbers of a game tell about the hidden cells, e.g. for hints, bots or to analyse boards:
+ * the cells that are safe for sure, the cells that are mines for sure and the exact mine probability of every cell.
+ * Only the revealed numbers are read, flags of the player might be wrong and count as hidden cells.
+ * <p>
+ * The hidden cells next to a revealed number form the frontier. Cells that share no number do not affect each other,
+ * so the frontier is split into connected components. Cells next to exactly the same numbers are merged into a class,
+ * which only matters by how many of its cells are mines. The classes of a component are then enumerated one after
+ * another in a dynamic program over the numbers still open, so a long chain of numbers costs linear instead of
+ * exponential time. Finally every mine count of a component is weighted by the number of ways to spread the remaining
+ * mines over the other components and the cells off the frontier, which makes the probabilities exact under the
+ * total mine count of the game.
+ */
+public class Solver {
+
+    private static final byte SAFE = 1, MINE = 2; // cells decided by a single number
+
+    private static final double RESCALE = 1e150; // weights are divided by their maximum once they leave this range
+
+    private final Game game;
+    private final Board board;
+    private final int[] adjacent;
+    private final double[][] binomials; // of the class sizes, a class is never larger than a neighbourhood
+
+    private double[] probabilities = new double[0];
+    private int[] safeCells = new int[0], mineCells = new int[0];
+    private int frontierSize = 0, componentCount = 0;
+
+    // reused between solves
+    private int[] frontierOf = new int[0]; // index on the frontier of every cell, -1 for cells off the frontier
+    private double[] logFactorials = {0};
+
+    public Solver(Game game) {
+        this.game = game;
+        this.board = game.getBoard();
+        this.adjacent = new int[board.getTopology().getMaxNeighbours()];
+        this.binomials = new double[adjacent.length + 1][];
+        for (int n = 0; n < binomials.length; n++) {
+            binomials[n] = new double[n + 1];
+            binomials[n][0] = binomials[n][n] = 1;
+            for (int k = 1; k < n; k++)
+                binomials[n][k] = binomials[n - 1][k - 1] + binomials[n - 1][k];
+        }
+    }
+
+    /**
+     * Solves the current position of the game. The results stay available until the next call.
+     * @throws IllegalStateException if no arrangement of the mines fits the revealed numbers
+     */
+    public void solve() {
+        final int size = board.getSize();
+        if (probabilities.length != size) {
+            probabilities = new double[size];
+            frontierOf = new int[size];
+        }
+        Arrays.fill(frontierOf, -1);
+
+        // every revealed number next to hidden cells is a constraint: its hidden neighbours hold this many mines
+        int hidden = 0, minesLeft = game.getMineCount();
+        int[] conTargets = new int[64], conStarts = new int[65], conCells = new int[256];
+        int cellCount = 0, conCount = 0, conCellCount = 0;
+        for (int i = 0; i < size; i++) {
+            if (!board.isRevealed(i)) {
+                hidden++;
+                continue;
+            }
+            if (board.isMine(i)) {
+                minesLeft--;
+                continue;
+            }
+            final int n = board.neighbours(i, adjacent);
+            int target = board.getAdjacentMineCount(i);
+            final int start = conCellCount;
+            for (int k = 0; k < n; k++) {
+                final int a = adjacent[k];
+                if (board.isRevealed(a)) {
+                    if (board.isMine(a)) target--;
+                    continue;
+                }
+                if (frontierOf[a] < 0)
+                    frontierOf[a] = cellCount++;
+                if (conCellCount == conCells.length) conCells = Arrays.copyOf(conCells, conCellCount * 2);
+                conCells[conCellCount++] = frontierOf[a];
+            }
+            if (conCellCount == start) continue;
+            if (conCount + 1 == conTargets.length) {
+                conTargets = Arrays.copyOf(conTargets, conTargets.length * 2);
+                conStarts = Arrays.copyOf(conStarts, conTargets.length + 1);
+            }
+            conTargets[conCount] = target;
+            conStarts[conCount++] = start;
+            conStarts[conCount] = conCellCount;
+        }
+        frontierSize = cellCount;
+
+        // a number that needs no more mines or as many as it has cells left decides its cells right away,
+        // decided cells are taken off the frontier so that only the undecided ones have to be enumerated
+        int[][] inverse = invert(cellCount, conCount, conStarts, conCells);
+        final byte[] decided = new byte[cellCount];
+        final int[] needs = Arrays.copyOf(conTargets, conCount), undecided = new int[conCount];
+        final int[] stack = new int[conCount];
+        final boolean[] stacked = new boolean[conCount];
+        for (int c = 0; c < conCount; c++) {
+            undecided[c] = conStarts[c + 1] - conStarts[c];
+            stack[c] = c;
+            stacked[c] = true;
+        }
+        int top = conCount;
+        while (top > 0) {
+            final int c = stack[--top];
+            stacked[c] = false;
+            if (needs[c] < 0 || needs[c] > undecided[c])
+                throw new IllegalStateException("No arrangement of the mines fits the revealed numbers");
+            if (undecided[c] == 0 || (needs[c] != 0 && needs[c] != undecided[c])) continue;
+            final byte decision = needs[c] == 0 ? SAFE : MINE;
+            for (int k = conStarts[c]; k < conStarts[c + 1]; k++) {
+                final int f = conCells[k];
+                if (decided[f] != 0) continue;
+                decided[f] = decision;
+                if (decision == MINE) minesLeft--;
+                for (int q = inverse[0][f]; q < inverse[0][f + 1]; q++) {
+                    final int d = inverse[1][q];
+                    undecided[d]--;
+                    if (decision == MINE) needs[d]--;
+                    if (!stacked[d]) {
+                        stacked[d] = true;
+                        stack[top++] = d;
+                    }
+                }
+            }
+        }
+        final int[] undecidedOf = new int[cellCount];
+        int undecidedCount = 0;
+        for (int f = 0; f < cellCount; f++)
+            undecidedOf[f] = decided[f] == 0 ? undecidedCount++ : -1;
+        int kept = 0, keptCells = 0;
+        for (int c = 0; c < conCount; c++) {
+            if (undecided[c] == 0) continue;
+            final int from = conStarts[c], to = conStarts[c + 1];
+            conStarts[kept] = keptCells;
+            conTargets[kept++] = needs[c];
+            for (int k = from; k < to; k++)
+                if (decided[conCells[k]] == 0)
+                    conCells[keptCells++] = undecidedOf[conCells[k]];
+        }
+        conStarts[kept] = keptCells;
+        conCount = kept;
+        final int fullCount = cellCount;
+        cellCount = undecidedCount;
+
+        // components of cells linked by shared constraints
+        final int[] parent = new int[cellCount];
+        for (int f = 0; f < cellCount; f++)
+            parent[f] = f;
+        for (int c = 0; c < conCount; c++)
+            for (int k = conStarts[c] + 1; k < conStarts[c + 1]; k++)
+                parent[find(parent, conCells[k])] = find(parent, conCells[conStarts[c]]);
+
+        inverse = invert(cellCount, conCount, conStarts, conCells);
+        final int[] cellConStarts = inverse[0], cellCons = inverse[1];
+
+        // classes of cells with the same constraints, grouped by component
+        final Map<Ints, Integer> classes = new HashMap<>();
+        final int[] classOf = new int[cellCount], classSizes = new int[cellCount], classReps = new int[cellCount];
+        final Map<Integer, Integer> components = new HashMap<>();
+        final List<List<Integer>> componentClasses = new ArrayList<>();
+        for (int f = 0; f < cellCount; f++) {
+            final Ints key = new Ints(Arrays.copyOfRange(cellCons, cellConStarts[f], cellConStarts[f + 1]));
+            Integer cls = classes.get(key);
+            if (cls == null) {
+                cls = classes.size();
+                classes.put(key, cls);
+                classReps[cls] = f;
+                Integer component = components.get(find(parent, f));
+                if (component == null) {
+                    component = componentClasses.size();
+                    components.put(find(parent, f), component);
+                    componentClasses.add(new ArrayList<>());
+                }
+                componentClasses.get(component).add(cls);
+            }
+            classOf[f] = cls;
+            classSizes[cls]++;
+        }
+        componentCount = componentClasses.size();
+
+        final Component[] comps = new Component[componentCount];
+        final int[] conLocal = new int[conCount]; // id of every constraint within its component
+        Arrays.fill(conLocal, -1);
+        for (int i = 0; i < componentCount; i++) {
+            final List<Integer> list = componentClasses.get(i);
+            final int[][] classConstraints = new int[list.size()][];
+            for (int v = 0; v < classConstraints.length; v++) {
+                final int rep = classReps[list.get(v)];
+                classConstraints[v] = Arrays.copyOfRange(cellCons, cellConStarts[rep], cellConStarts[rep + 1]);
+            }
+            comps[i] = new Component(list, classSizes, classConstraints, conTargets, conLocal);
+            comps[i].forward(binomials);
+        }
+
+        // weights of the mine counts off the frontier: the ways to spread the rest of the mines over those cells
+        final int rest = hidden - fullCount;
+        final double[] offFrontier = new double[cellCount + 1];
+        double maxLog = Double.NEGATIVE_INFINITY;
+        for (int t = 0; t <= cellCount; t++) {
+            final int r = minesLeft - t;
+            offFrontier[t] = r < 0 || r > rest ? Double.NEGATIVE_INFINITY : logBinomial(rest, r);
+            maxLog = Math.max(maxLog, offFrontier[t]);
+        }
+        for (int t = 0; t <= cellCount; t++)
+            offFrontier[t] = Math.exp(offFrontier[t] - maxLog);
+
+        // the weight of every mine count of a component is what the components before it and those after it allow,
+        // the ones after are folded into the off frontier weights backwards, the ones before are convolved forwards
+        final double[][] after = new double[componentCount + 1][];
+        after[componentCount] = offFrontier;
+        int before = cellCount;
+        for (int i = componentCount - 1; i >= 0; i--) {
+            before -= comps[i].total;
+            final double[] weights = comps[i].weights, next = after[i + 1];
+            final double[] folded = new double[before + 1];
+            for (int t = 0; t <= before; t++)
+                for (int k = 0; k < weights.length; k++)
+                    folded[t] += weights[k] * next[t + k];
+            after[i] = rescale(folded);
+        }
+        double[] prefix = {1};
+        for (int i = 0; i < componentCount; i++) {
+            final Component comp = comps[i];
+            final double[] next = after[i + 1];
+            final double[] outside = new double[comp.total + 1];
+            for (int k = 0; k <= comp.total; k++)
+                for (int a = 0; a < prefix.length; a++)
+                    outside[k] += prefix[a] * next[k + a];
+            comp.outside = rescale(outside);
+            final double[] convolved = new double[prefix.length + comp.total];
+            for (int a = 0; a < prefix.length; a++)
+                for (int k = 0; k <= comp.total; k++)
+                    convolved[a + k] += prefix[a] * comp.weights[k];
+            prefix = rescale(convolved);
+            after[i + 1] = null;
+        }
+
+        double total = 0, mineWeight = 0, safeWeight = 0;
+        for (int t = 0; t <= cellCount; t++) {
+            final double w = prefix[t] * offFrontier[t];
+            total += w;
+            mineWeight += w * (minesLeft - t);
+            safeWeight += w * (rest - minesLeft + t);
+        }
+        if (total == 0)
+            throw new IllegalStateException("No arrangement of " + minesLeft + " mines fits the revealed numbers");
+
+        int[] safe = new int[16], mines = new int[16];
+        int safeCount = 0, mineCount = 0;
+        final double[] classProbabilities = new double[classes.size()];
+        final boolean[] classSafe = new boolean[classes.size()], classMine = new boolean[classes.size()];
+        for (Component comp : comps)
+            comp.backward(binomials, classProbabilities, classSafe, classMine);
+        final double interior = rest == 0 ? 0 : mineWeight / (mineWeight + safeWeight);
+        for (int i = 0; i < size; i++) {
+            final boolean sureSafe, sureMine;
+            if (board.isRevealed(i)) {
+                probabilities[i] = board.isMine(i) ? 1 : 0;
+                continue;
+            }
+            final int f = frontierOf[i];
+            if (f >= 0 && decided[f] != 0) {
+                probabilities[i] = decided[f] == MINE ? 1 : 0;
+                sureSafe = decided[f] == SAFE;
+                sureMine = decided[f] == MINE;
+            }
+            else if (f >= 0) {
+                final int cls = classOf[undecidedOf[f]];
+                probabilities[i] = classProbabilities[cls];
+                sureSafe = classSafe[cls];
+                sureMine = classMine[cls];
+            }
+            else {
+                probabilities[i] = interior;
+                sureSafe = mineWeight == 0;
+                sureMine = safeWeight == 0;
+            }
+            if (sureSafe) {
+                if (safeCount == safe.length) safe = Arrays.copyOf(safe, safeCount * 2);
+                safe[safeCount++] = i;
+            }
+            else if (sureMine) {
+                if (mineCount == mines.length) mines = Arrays.copyOf(mines, mineCount * 2);
+                mines[mineCount++] = i;
+            }
+        }
+        safeCells = Arrays.copyOf(safe, safeCount);
+        mineCells = Arrays.copyOf(mines, mineCount);
+    }
+
+    /**
+     * @return the chance that the cell is a mine, revealed cells are either 0 or 1
+     */
+    public double getProbability(int index) {
+        return probabilities[index];
+    }
+
+    /**
+     * @return the hidden cells that cannot be mines, in ascending order
+     */
+    public int[] getSafeCells() {
+        return safeCells;
+    }
+
+    /**
+     * @return the hidden cells that have to be mines, in ascending order
+     */
+    public int[] getMineCells() {
+        return mineCells;
+    }
+
+    /**
+     * @return the number of hidden cells next to a revealed number
+     */
+    public int getFrontierSize() {
+        return frontierSize;
+    }
+
+    /**
+     * @return the number of independent parts of the frontier
+     */
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    private double logBinomial(int n, int k) {
+        if (logFactorials.length <= n) {
+            final int from = logFactorials.length;
+            logFactorials = Arrays.copyOf(logFactorials, n + 1);
+            for (int i = from; i <= n; i++)
+                logFactorials[i] = logFactorials[i - 1] + Math.log(i);
+        }
+        return logFactorials[n] - logFactorials[k] - logFactorials[n - k];
+    }
+
+    /**
+     * @return the starts and the constraints of every cell, in ascending order
+     */
+    private static int[][] invert(int cellCount, int conCount, int[] conStarts, int[] conCells) {
+        final int[] starts = new int[cellCount + 1];
+        for (int k = 0; k < conStarts[conCount]; k++)
+            starts[conCells[k] + 1]++;
+        for (int f = 0; f < cellCount; f++)
+            starts[f + 1] += starts[f];
+        final int[] cons = new int[conStarts[conCount]], fill = Arrays.copyOf(starts, cellCount);
+        for (int c = 0; c < conCount; c++)
+            for (int k = conStarts[c]; k < conStarts[c + 1]; k++)
+                cons[fill[conCells[k]]++] = c;
+        return new int[][] {starts, cons};
+    }
+
+    private static int find(int[] parent, int f) {
+        while (parent[f] != f)
+            f = parent[f] = parent[parent[f]];
+        return f;
+    }
+
+    /**
+     * Divides the weights by their maximum if they get too large or too small, only their ratios matter.
+     */
+    private static double[] rescale(double[] weights) {
+        double max = 0;
+        for (double w : weights)
+            max = Math.max(max, w);
+        if (max > RESCALE || (max > 0 && max < 1 / RESCALE))
+            for (int k = 0; k < weights.length; k++)
+                weights[k] /= max;
+        return weights;
+    }
+
+    /**
+     * One connected component of the frontier. The classes are put in an order in which neighbouring classes follow
+     * each other, so that only few constraints are open at a time. The state of the dynamic program after a class is
+     * the number of mines every open constraint still needs, mapped to the weights by the mines placed so far.
+     */
+    private static final class Component {
+
+        private final int[] classes, sizes;
+        private final Step[] steps;
+        private final int total; // cells in the component
+        private final List<Map<Ints, double[]>> states = new ArrayList<>();
+        private double[] weights; // of every mine count, the number of arrangements in the component
+        private double[] outside; // of every mine count, the number of arrangements elsewhere
+
+        Component(List<Integer> list, int[] classSizes, int[][] classConstraints, int[] conTargets, int[] conLocal) {
+            final int n = list.size();
+
+            // local constraint ids and the classes of every constraint
+            final List<Integer> cons = new ArrayList<>();
+            final List<List<Integer>> conClasses = new ArrayList<>();
+            final int[][] varCons = new int[n][];
+            for (int v = 0; v < n; v++) {
+                varCons[v] = new int[classConstraints[v].length];
+                for (int k = 0; k < varCons[v].length; k++) {
+                    final int c = classConstraints[v][k];
+                    if (conLocal[c] < 0) {
+                        conLocal[c] = cons.size();
+                        cons.add(c);
+                        conClasses.add(new ArrayList<>());
+                    }
+                    varCons[v][k] = conLocal[c];
+                    conClasses.get(conLocal[c]).add(v);
+                }
+            }
+
+            // breadth first from a class with the fewest constraints, usually an end of a chain
+            int start = 0;
+            for (int v = 1; v < n; v++)
+                if (varCons[v].length < varCons[start].length) start = v;
+            final int[] order = new int[n], position = new int[n];
+            Arrays.fill(position, -1);
+            int head = 0, tail = 0;
+            order[tail++] = start;
+            position[start] = 0;
+            while (head < tail) {
+                final int v = order[head++];
+                for (int c : varCons[v])
+                    for (int u : conClasses.get(c))
+                        if (position[u] < 0) {
+                            position[u] = tail;
+                            order[tail++] = u;
+                        }
+            }
+
+            final int m = cons.size();
+            final int[] first = new int[m], last = new int[m], room = new int[m], targets = new int[m];
+            Arrays.fill(first, n);
+            for (int c = 0; c < m; c++) {
+                targets[c] = conTargets[cons.get(c)];
+                for (int v : conClasses.get(c)) {
+                    first[c] = Math.min(first[c], position[v]);
+                    last[c] = Math.max(last[c], position[v]);
+                    room[c] += classSizes[list.get(v)];
+                }
+            }
+
+            this.classes = new int[n];
+            this.sizes = new int[n];
+            this.steps = new Step[n];
+            int cells = 0;
+            final int[] openAt = new int[m]; // position of every open constraint in the state, -1 if not open
+            Arrays.fill(openAt, -1);
+            final boolean[] hit = new boolean[m];
+            int[] open = new int[0];
+            for (int i = 0; i < n; i++) {
+                final int v = order[i];
+                classes[i] = list.get(v);
+                sizes[i] = classSizes[classes[i]];
+                cells += sizes[i];
+                for (int c : varCons[v]) {
+                    hit[c] = true;
+                    room[c] -= sizes[i];
+                }
+                final int[] next = new int[m];
+                int count = 0;
+                for (int c : open)
+                    if (last[c] != i) next[count++] = c;
+                for (int c : varCons[v])
+                    if (first[c] == i && last[c] != i) next[count++] = c;
+                final Step step = new Step(sizes[i], count);
+                for (int t = 0; t < count; t++) {
+                    final int c = next[t];
+                    step.src[t] = openAt[c];
+                    step.start[t] = targets[c];
+                    step.hit[t] = hit[c];
+                    step.room[t] = room[c];
+                }
+                int closing = 0;
+                for (int c : varCons[v])
+                    if (last[c] == i) closing++;
+                step.closeSrc = new int[closing];
+                step.closeTarget = new int[closing];
+                closing = 0;
+                for (int c : varCons[v])
+                    if (last[c] == i) {
+                        step.closeSrc[closing] = openAt[c];
+                        step.closeTarget[closing++] = targets[c];
+                    }
+                for (int c : varCons[v])
+                    hit[c] = false;
+                for (int c : open)
+                    openAt[c] = -1;
+                open = Arrays.copyOf(next, count);
+                for (int t = 0; t < count; t++)
+                    openAt[open[t]] = t;
+                steps[i] = step;
+            }
+            this.total = cells;
+        }
+
+        /**
+         * Counts the arrangements of every mine count, keeping the states after every class for the way back.
+         */
+        void forward(double[][] binomials) {
+            Map<Ints, double[]> current = new HashMap<>();
+            current.put(new Ints(new int[0]), new double[] {1});
+            states.add(current);
+            int placed = 0;
+            for (Step step : steps) {
+                final Map<Ints, double[]> next = new HashMap<>();
+                final int s = step.size;
+                for (Map.Entry<Ints, double[]> entry : current.entrySet()) {
+                    final double[] from = entry.getValue();
+                    for (int j = 0; j <= s; j++) {
+                        final int[] needs = step.next(entry.getKey().values, j);
+                        if (needs == null) continue;
+                        double[] to = next.computeIfAbsent(new Ints(needs), key -> new double[from.length + s]);
+                        final double b = binomials[s][j];
+                        for (int a = 0; a < from.length; a++)
+                            to[a + j] += b * from[a];
+                    }
+                }
+                rescale(next);
+                placed += s;
+                states.add(current = next);
+            }
+            final double[] done = current.get(new Ints(new int[0]));
+            weights = done == null ? new double[placed + 1] : Solver.rescale(done);
+        }
+
+        /**
+         * Walks the classes backwards with the weights of the arrangements elsewhere, the weights of the states seen
+         * on the way forward times those of the states reached on the way back give the probability of every class.
+         */
+        void backward(double[][] binomials, double[] probabilities, boolean[] safe, boolean[] mine) {
+            Map<Ints, double[]> after = new HashMap<>();
+            after.put(new Ints(new int[0]), outside);
+            for (int i = steps.length - 1; i >= 0; i--) {
+                final Step step = steps[i];
+                final int s = step.size;
+                final Map<Ints, double[]> before = new HashMap<>();
+                double mines = 0, free = 0;
+                for (Map.Entry<Ints, double[]> entry : states.get(i).entrySet()) {
+                    final double[] from = entry.getValue();
+                    final double[] back = new double[from.length];
+                    for (int j = 0; j <= s; j++) {
+                        final int[] needs = step.next(entry.getKey().values, j);
+                        if (needs == null) continue;
+                        final double[] to = after.get(new Ints(needs));
+                        if (to == null) continue;
+                        final double b = binomials[s][j];
+                        double reach = 0;
+                        for (int a = 0; a < from.length; a++) {
+                            back[a] += b * to[a + j];
+                            reach += from[a] * to[a + j];
+                        }
+                        mines += j * b * reach;
+                        free += (s - j) * b * reach;
+                    }
+                    before.put(entry.getKey(), back);
+                }
+                rescale(before);
+                probabilities[classes[i]] = mines + free == 0 ? 0 : mines / (mines + free);
+                safe[classes[i]] = mines == 0;
+                mine[classes[i]] = free == 0 && mines > 0;
+                after = before;
+                states.set(i + 1, null);
+            }
+            states.clear();
+        }
+
+        private static void rescale(Map<Ints, double[]> states) {
+            double max = 0;
+            for (double[] weights : states.values())
+                for (double w : weights)
+                    max = Math.max(max, w);
+            if (max > RESCALE || (max > 0 && max < 1 / RESCALE))
+                for (double[] weights : states.values())
+                    for (int k = 0; k < weights.length; k++)
+                        weights[k] /= max;
+        }
+    }
+
+    /**
+     * Placing the mines of one class: how the needs of the open constraints carry over to the next state.
+     */
+    private static final class Step {
+
+        final int size;
+        final int[] src, start, room; // per constraint open afterwards: its position before or -1 if it opens now
+        final boolean[] hit; // whether the class is part of the constraint
+        int[] closeSrc, closeTarget; // constraints that the class is the last one of
+
+        Step(int size, int open) {
+            this.size = size;
+            this.src = new int[open];
+            this.start = new int[open];
+            this.room = new int[open];
+            this.hit = new boolean[open];
+        }
+
+        /**
+         * @return the needs after placing {@code j} mines into the class, or null if that breaks a constraint
+         */
+        int[] next(int[] needs, int j) {
+            for (int q = 0; q < closeSrc.length; q++)
+                if ((closeSrc[q] < 0 ? closeTarget[q] : needs[closeSrc[q]]) != j) return null;
+            final int[] next = new int[src.length];
+            for (int t = 0; t < src.length; t++) {
+                final int need = (src[t] < 0 ? start[t] : needs[src[t]]) - (hit[t] ? j : 0);
+                if (need < 0 || need > room[t]) return null;
+                next[t] = need;
+            }
+            return next;
+        }
+    }
+
+    /**
+     * An array of ints as a key.
+     */
+    private static final class Ints {
+
+        final int[] values;
+        private final int hash;
+
+        Ints(int[] values) {
+            this.values = values;
+            this.hash = Arrays.hashCode(values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Ints && Arrays.equals(values, ((Ints) o).values);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package de.gazibaric.marvin.minesweeper;
+
+// This file is part of Minesweeper, created on 18.10.2026 by (c) Marvin Gazibarić.
+// You are generally not allowed to modify, distribute or use this code,
+// when you do not have the explicit permission to do so.
+// For questions about this, refer to the LICENSE.md file probably provided with the project files.
+
+/**
+ * The classic board of squares, every cell touches the eight cells around it. The edges of the board are closed.
+ */
+public final class SquareTopology extends Topology {
+
+    private static final int[] DX = { -1, 0, 1, -1, 1, -1, 0, 1 };
+    private static final int[] DY = { -1, -1, -1, 0, 0, 1, 1, 1 };
+
+    private final int[] offsets = new int[DX.length];
+
+    public SquareTopology(int width, int height) {
+        super(width, height);
+        for (int k = 0; k < offsets.length; k++)
+            offsets[k] = DY[k] * width + DX[k];
+    }
+
+    @Override
+    public int getMaxNeighbours() {
+        return 8;
+    }
+
+    @Override
+    public int neighbours(int index, int[] out) {
+        return planarNeighbours(index, index % width, index / width, DX, DY, offsets, out);
+    }
+}
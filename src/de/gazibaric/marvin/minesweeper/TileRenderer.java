@@ -0,0 +1,113 @@
+package de.gazibaric.marvin.minesweeper;
+
+// This file is part of Minesweeper, created on 18.10.2026 by (c) Marvin Gazibarić.
+// You are generally not allowed to modify, distribute or use this code,
+// when you do not have the explicit permission to do so.
+// For questions about this, refer to the LICENSE.md file probably provided with the project files.
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Renders an image in horizontal tiles on a fork-join pool. Every tile is painted into an image of its own
+ * by a worker thread, the tiles are then copied into the target one after another.
+ * The painter is called once per tile with a graphics translated to the tile, so it draws exactly as it would
+ * into the whole image and only has to skip what does not reach into the tile.
+ * With a single core there is only one tile, painted straight into the target on the calling thread.
+ */
+public class TileRenderer {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    public interface Painter {
+        /**
+         * Paints the rows of pixels from {@code top} up to {@code bottom}, all others are clipped anyway.
+         * Called concurrently for different tiles.
+         */
+        void paint(Graphics2D gx, int top, int bottom);
+    }
+
+    private final int tileCount;
+    private BufferedImage[] tiles;
+    private Graphics2D[] tileGx;
+
+    public TileRenderer() {
+        // a few more tiles than cores, the tiles differ in how many cells they have to draw
+        this(POOL.getParallelism() > 1 ? POOL.getParallelism() * 2 : 1);
+    }
+
+    public TileRenderer(int tileCount) {
+        if (tileCount <= 0)
+            throw new IllegalArgumentException("Invalid tile count: " + tileCount);
+        this.tileCount = tileCount;
+    }
+
+    /**
+     * Paints the whole target, the graphics of the target is used directly when there is only one tile.
+     */
+    public void render(BufferedImage target, Graphics2D targetGx, Painter painter) {
+        if (tileCount == 1) {
+            painter.paint(targetGx, 0, target.getHeight());
+            return;
+        }
+        final int tileHeight = (target.getHeight() + tileCount - 1) / tileCount;
+        if (tiles == null || tiles[0].getWidth() != target.getWidth() || tiles[0].getHeight() != tileHeight)
+            allocate(target, tileHeight);
+        for (Graphics2D gx : tileGx)
+            gx.setRenderingHints(targetGx.getRenderingHints());
+        POOL.invoke(new Tiles(painter, tiles, tileGx, 0, tileCount, tileHeight));
+        for (int t = 0; t < tileCount; t++)
+            targetGx.drawImage(tiles[t], 0, t * tileHeight, null);
+    }
+
+    private void allocate(BufferedImage target, int tileHeight) {
+        if (tileGx != null)
+            for (Graphics2D gx : tileGx)
+                gx.dispose();
+        final int type = target.getType() == BufferedImage.TYPE_CUSTOM ? BufferedImage.TYPE_INT_RGB : target.getType();
+        tiles = new BufferedImage[tileCount];
+        tileGx = new Graphics2D[tileCount];
+        for (int t = 0; t < tileCount; t++) {
+            tiles[t] = new BufferedImage(target.getWidth(), tileHeight, type);
+            tileGx[t] = tiles[t].createGraphics();
+            tileGx[t].translate(0, -t * tileHeight);
+        }
+    }
+
+    /**
+     * Splits the range of tiles in halves until a single tile is left to paint.
+     */
+    private static final class Tiles extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient Painter painter;
+        private final transient BufferedImage[] tiles;
+        private final transient Graphics2D[] tileGx;
+        private final int from, to, tileHeight;
+
+        Tiles(Painter painter, BufferedImage[] tiles, Graphics2D[] tileGx, int from, int to, int tileHeight) {
+            this.painter = painter;
+            this.tiles = tiles;
+            this.tileGx = tileGx;
+            this.from = from;
+            this.to = to;
+            this.tileHeight = tileHeight;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                final int mid = (from + to) >>> 1;
+                invokeAll(new Tiles(painter, tiles, tileGx, from, mid, tileHeight),
+                        new Tiles(painter, tiles, tileGx, mid, to, tileHeight));
+                return;
+            }
+            final Graphics2D gx = tileGx[from];
+            gx.setClip(0, from * tileHeight, tiles[from].getWidth(), tileHeight);
+            painter.paint(gx, from * tileHeight, (from + 1) * tileHeight);
+        }
+    }
+}
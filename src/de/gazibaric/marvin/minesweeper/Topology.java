@@ -0,0 +1,132 @@
+package de.gazibaric.marvin.minesweeper;
+
+// This file is part of Minesweeper, created on 18.10.2026 by (c) Marvin Gazibarić.
+// You are generally not allowed to modify, distribute or use this code,
+// when you do not have the explicit permission to do so.
+// For questions about this, refer to the LICENSE.md file probably provided with the project files.
+
+/**
+ * How the cells of a board are connected. Cells are addressed row-major by index, a topology derives the neighbours
+ * of a cell from its index using offsets computed once per board, so it never stores anything per cell.
+ * Mine placement, counting and flood fill of {@link Board} only talk to the topology and work on every kind of board.
+ */
+public abstract class Topology {
+
+    protected final int width, height;
+
+    protected Topology(int width, int height) {
+        if (width <= 0 || height <= 0)
+            throw new IllegalArgumentException("Invalid board size: " + width + "x" + height);
+        this.width = width;
+        this.height = height;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * @return the number of rows of one layer, boards with more than one layer have {@code height * depth} rows in total
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * @return the number of layers, 1 for all flat boards
+     */
+    public int getDepth() {
+        return 1;
+    }
+
+    public int getSize() {
+        return width * height;
+    }
+
+    public int index(int x, int y) {
+        return y * width + x;
+    }
+
+    public int x(int index) {
+        return index % width;
+    }
+
+    public int y(int index) {
+        return index / width;
+    }
+
+    /**
+     * @return the number of neighbours a cell has at most, the size needed for the array passed to {@link #neighbours}
+     */
+    public abstract int getMaxNeighbours();
+
+    /**
+     * Writes the indices of all cells adjacent to {@code index} into {@code out}.
+     * @return the number of neighbours written, at most {@link #getMaxNeighbours()}
+     */
+    public abstract int neighbours(int index, int[] out);
+
+    /**
+     * Adds precomputed index offsets to a cell, skipping the steps that leave the board.
+     * The steps are given as column and row deltas, cells away from the edges skip the bounds checks entirely.
+     */
+    protected final int planarNeighbours(int index, int x, int y, int[] dx, int[] dy, int[] offsets, int[] out) {
+        final int n = offsets.length;
+        if (x > 0 && x < width - 1 && y > 0 && y < height - 1) {
+            for (int k = 0; k < n; k++)
+                out[k] = index + offsets[k];
+            return n;
+        }
+        int count = 0;
+        for (int k = 0; k < n; k++) {
+            final int nx = x + dx[k], ny = y + dy[k];
+            if (nx >= 0 && nx < width && ny >= 0 && ny < height)
+                out[count++] = index + offsets[k];
+        }
+        return count;
+    }
+
+    /**
+     * Parses a topology written by {@link #toString()}, e.g. {@code 32x32} for a square board,
+     * {@code hex32x32} for a board of hexagons, {@code torus32x32} for a wrapping board or {@code 32x32x4} for 4 layers.
+     */
+    public static Topology parse(String s) {
+        int prefix = 0;
+        while (prefix < s.length() && !Character.isDigit(s.charAt(prefix)))
+            prefix++;
+        final String[] size = s.substring(prefix).split("x");
+        if (size.length != 2 && (size.length != 3 || prefix != 0))
+            throw new IllegalArgumentException("Malformed board size: " + s);
+        final int width = Integer.parseInt(size[0]), height = Integer.parseInt(size[1]);
+        switch (s.substring(0, prefix)) {
+            case "":
+                if (size.length == 3)
+                    return new LayeredTopology(width, height, Integer.parseInt(size[2]));
+                return new SquareTopology(width, height);
+            case HexTopology.PREFIX:
+                return new HexTopology(width, height);
+            case TorusTopology.PREFIX:
+                return new TorusTopology(width, height);
+            default:
+                throw new IllegalArgumentException("Unknown topology: " + s);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return width + "x" + height;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || o.getClass() != getClass()) return false;
+        Topology other = (Topology) o;
+        return width == other.width && height == other.height;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * getClass().hashCode() + width) + height;
+    }
+}
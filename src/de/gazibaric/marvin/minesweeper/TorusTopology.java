@@ -0,0 +1,54 @@
+package de.gazibaric.marvin.minesweeper;
+
+// This file is part of Minesweeper, created on 18.10.2026 by (c) Marvin Gazibarić.
+// You are generally not allowed to modify, distribute or use this code,
+// when you do not have the explicit permission to do so.
+// For questions about this, refer to the LICENSE.md file probably provided with the project files.
+
+/**
+ * A board of squares whose edges wrap around: the left column touches the right one and the top row the bottom one,
+ * so every cell has eight neighbours. Cells away from the edges use the same offsets as on a {@link SquareTopology},
+ * only the edges need the modulo.
+ */
+public final class TorusTopology extends Topology {
+
+    static final String PREFIX = "torus";
+
+    private static final int[] DX = { -1, 0, 1, -1, 1, -1, 0, 1 };
+    private static final int[] DY = { -1, -1, -1, 0, 0, 1, 1, 1 };
+
+    private final int[] offsets = new int[DX.length];
+
+    public TorusTopology(int width, int height) {
+        super(width, height);
+        // on smaller boards a cell would be its own neighbour or meet the same neighbour twice
+        if (width < 3 || height < 3)
+            throw new IllegalArgumentException("A torus needs at least 3x3 cells: " + width + "x" + height);
+        for (int k = 0; k < offsets.length; k++)
+            offsets[k] = DY[k] * width + DX[k];
+    }
+
+    @Override
+    public int getMaxNeighbours() {
+        return 8;
+    }
+
+    @Override
+    public int neighbours(int index, int[] out) {
+        final int x = index % width, y = index / width;
+        if (x > 0 && x < width - 1 && y > 0 && y < height - 1) {
+            for (int k = 0; k < offsets.length; k++)
+                out[k] = index + offsets[k];
+        }
+        else {
+            for (int k = 0; k < offsets.length; k++)
+                out[k] = (y + DY[k] + height) % height * width + (x + DX[k] + width) % width;
+        }
+        return offsets.length;
+    }
+
+    @Override
+    public String toString() {
+        return PREFIX + super.toString();
+    }
+}